@@ -0,0 +1,55 @@
+package benchmark;
+
+import model.Team;
+import model.User;
+import persistence.DatasetGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reproducible synthetic users and teams for benchmarks, drawn from a DatasetGenerator.
+ * Every method starts from the same seed, so a dataset of a given size is identical from run to run no matter
+ * which other datasets were generated first.
+ */
+public final class BenchmarkData {
+    private static final String PASSWORD_HASH = "65536:YmVuY2htYXJrLXNhbHQ=:YmVuY2htYXJrLWhhc2g=";
+
+    private final long seed;
+
+    /**
+     * EFFECTS: Creates a generator whose datasets are determined by seed.
+     */
+    public BenchmarkData(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * EFFECTS: Returns count listed teams, each with a full starting eleven and some likes.
+     */
+    public List<Team> teams(int count) {
+        DatasetGenerator generator = generator();
+        generator.setListedShare(1.0);
+        return generator.teams(count);
+    }
+
+    /**
+     * EFFECTS: Returns count users with teamsPerUser teams each. Every user shares one fixed password hash.
+     */
+    public List<User> users(int count, int teamsPerUser) {
+        return new ArrayList<>(generator().users(count, teamsPerUser));
+    }
+
+    /**
+     * EFFECTS: Returns the name of a player that appears in teams generated from the start of a dataset.
+     */
+    public String knownPlayerName() {
+        return teams(1).get(0).getPlayers().get(0).getName();
+    }
+
+    private DatasetGenerator generator() {
+        DatasetGenerator generator = new DatasetGenerator(seed);
+        generator.setPasswordHash(PASSWORD_HASH);
+        return generator;
+    }
+}
@@ -0,0 +1,136 @@
+package benchmark;
+
+import model.EventLog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A small JMH-style harness for the benchmarks in this source set.
+ * Each benchmark is set up once, run for a number of timed warmup iterations that are discarded, then for a
+ * number of timed measurement iterations. Every operation returns a value that is folded into a sink so the
+ * JIT cannot remove the work. The event log is cleared between iterations, outside the timed region, so it
+ * does not grow without bound while a benchmark runs.
+ * Usage (from the project root, with src/main, src/bench and lib/*.jar on the class path):
+ * java benchmark.BenchmarkRunner [name filter] [-quick]
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * One benchmarked operation. The returned value is consumed so the work cannot be optimized away.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        long run() throws Exception;
+    }
+
+    /**
+     * Prepares the state for a benchmark and returns the operation to time.
+     */
+    @FunctionalInterface
+    public interface Setup {
+        Operation prepare() throws Exception;
+    }
+
+    private static final long SEED = 20240303L;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final List<String> names = new ArrayList<>();
+    private final List<Setup> setups = new ArrayList<>();
+    // Written after every operation and never read; a field store cannot be optimized away
+    private long sink;
+
+    /**
+     * EFFECTS: Creates a runner with the given number of warmup and measurement iterations of iterationMillis.
+     */
+    public BenchmarkRunner(int warmupIterations, int measurementIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Registers a benchmark; its setup runs only if the benchmark is selected.
+     */
+    public void add(String name, Setup setup) {
+        names.add(name);
+        setups.add(setup);
+    }
+
+    /**
+     * EFFECTS: Runs every registered benchmark whose name contains filter and prints one line per benchmark.
+     */
+    public void run(String filter) throws Exception {
+        System.out.printf(Locale.ROOT, "%-60s %6s %14s %12s%n", "Benchmark", "Cnt", "Score", "Error");
+        for (int i = 0; i < names.size(); i++) {
+            if (names.get(i).contains(filter)) {
+                report(names.get(i), measure(setups.get(i).prepare()));
+            }
+        }
+    }
+
+    // EFFECTS: Returns the average nanoseconds per operation of each measurement iteration
+    private double[] measure(Operation operation) throws Exception {
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(operation);
+        }
+        double[] results = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            results[i] = iteration(operation);
+        }
+        return results;
+    }
+
+    private double iteration(Operation operation) throws Exception {
+        EventLog.getInstance().clear();
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += operation.run();
+            ops++;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationNanos);
+        return (double) elapsed / ops;
+    }
+
+    // EFFECTS: Prints the mean time per operation and the half-width of a ~99.9% interval, like JMH's avgt mode
+    private void report(String name, double[] results) {
+        double mean = 0;
+        for (double result : results) {
+            mean += result;
+        }
+        mean /= results.length;
+        double variance = 0;
+        for (double result : results) {
+            variance += (result - mean) * (result - mean);
+        }
+        double error = results.length > 1 ? 3.29 * Math.sqrt(variance / (results.length - 1) / results.length) : 0;
+        String unit = mean >= 1_000_000 ? "ms/op" : mean >= 1_000 ? "us/op" : "ns/op";
+        double scale = mean >= 1_000_000 ? 1e6 : mean >= 1_000 ? 1e3 : 1;
+        System.out.printf(Locale.ROOT, "%-60s %6d %14.3f %12.3f  %s%n", name, results.length, mean / scale,
+                error / scale, unit);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String filter = "";
+        boolean quick = false;
+        for (String arg : args) {
+            if (arg.equals("-quick")) {
+                quick = true;
+            } else {
+                filter = arg;
+            }
+        }
+        BenchmarkRunner runner = quick ? new BenchmarkRunner(1, 2, 100) : new BenchmarkRunner(5, 10, 1000);
+        BenchmarkData data = new BenchmarkData(SEED);
+        ModelBenchmarks.register(runner, data);
+        PersistenceBenchmarks.register(runner, data);
+        PasswordBenchmarks.register(runner);
+        runner.run(filter);
+    }
+}
@@ -0,0 +1,76 @@
+package benchmark;
+
+import model.ChemistryEngine;
+import model.Player;
+import model.Team;
+import model.TeamRepository;
+
+import java.util.List;
+
+/**
+ * Benchmarks for chemistry and for searching and ranking community teams.
+ */
+public final class ModelBenchmarks {
+    private static final int[] COMMUNITY_SIZES = {100, 10_000, 100_000};
+
+    private ModelBenchmarks() {
+    }
+
+    /**
+     * MODIFIES: runner
+     * EFFECTS: Registers the model benchmarks.
+     */
+    public static void register(BenchmarkRunner runner, BenchmarkData data) {
+        runner.add("Team.calculateChemistry", () -> {
+            Team team = data.teams(1).get(0);
+            return team::calculateChemistry;
+        });
+        runner.add("ChemistryEngine.score (full recompute)", () -> {
+            Team team = data.teams(1).get(0);
+            ChemistryEngine engine = team.getFormation().getChemistryEngine();
+            Player[] lineup = engine.newLineup();
+            for (Player player : team.getStartingPlayers()) {
+                lineup[engine.getSlotIndex(player.getCurrentPositionType())] = player;
+            }
+            return () -> engine.score(lineup);
+        });
+        for (int size : COMMUNITY_SIZES) {
+            registerRepository(runner, data, size);
+        }
+    }
+
+    private static void registerRepository(BenchmarkRunner runner, BenchmarkData data, int size) {
+        String suffix = " (teams=" + size + ")";
+        runner.add("TeamRepository.searchTeams by player" + suffix, () -> {
+            TeamRepository repository = community(data, size);
+            String name = data.knownPlayerName();
+            return () -> repository.searchTeams(Integer.MAX_VALUE, 0, name).size();
+        });
+        runner.add("TeamRepository.searchTeams by budget" + suffix, () -> {
+            TeamRepository repository = community(data, size);
+            return () -> repository.searchTeams(30_000_000, 80, "").size();
+        });
+        runner.add("TeamRepository.getTeamsByPopularity top 20" + suffix, () -> {
+            TeamRepository repository = community(data, size);
+            return () -> repository.getTeamsByPopularity(0, 20).size();
+        });
+        runner.add("TeamRepository.likeTeam" + suffix, () -> {
+            TeamRepository repository = community(data, size);
+            List<Team> teams = repository.getAllCommunityTeams();
+            int[] next = {0};
+            return () -> {
+                Team team = teams.get(next[0]++ % teams.size());
+                team.likeTeam();
+                return team.getLikes();
+            };
+        });
+    }
+
+    private static TeamRepository community(BenchmarkData data, int size) {
+        TeamRepository repository = new TeamRepository();
+        for (Team team : data.teams(size)) {
+            repository.addTeamToCommunity(team);
+        }
+        return repository;
+    }
+}
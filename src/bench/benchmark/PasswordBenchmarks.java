@@ -0,0 +1,25 @@
+package benchmark;
+
+import model.PasswordUtils;
+
+/**
+ * Benchmarks for password hashing and verification.
+ */
+public final class PasswordBenchmarks {
+    private static final String PASSWORD = "correct horse battery staple";
+
+    private PasswordBenchmarks() {
+    }
+
+    /**
+     * MODIFIES: runner
+     * EFFECTS: Registers the password benchmarks.
+     */
+    public static void register(BenchmarkRunner runner) {
+        runner.add("PasswordUtils.hashPassword", () -> () -> PasswordUtils.hashPassword(PASSWORD).length());
+        runner.add("PasswordUtils.verifyPassword", () -> {
+            String hash = PasswordUtils.hashPassword(PASSWORD);
+            return () -> PasswordUtils.verifyPassword(PASSWORD, hash) ? 1 : 0;
+        });
+    }
+}
@@ -0,0 +1,52 @@
+package benchmark;
+
+import model.User;
+import persistence.JsonReader;
+import persistence.JsonWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Benchmarks for reading and writing users.json at several sizes. Files go to a temporary directory.
+ */
+public final class PersistenceBenchmarks {
+    private static final int[] USER_COUNTS = {10, 1_000, 10_000};
+    private static final int TEAMS_PER_USER = 2;
+
+    private PersistenceBenchmarks() {
+    }
+
+    /**
+     * MODIFIES: runner
+     * EFFECTS: Registers the persistence benchmarks.
+     */
+    public static void register(BenchmarkRunner runner, BenchmarkData data) throws IOException {
+        Path directory = Files.createTempDirectory("fut-bench");
+        directory.toFile().deleteOnExit();
+        for (int users : USER_COUNTS) {
+            String file = directory.resolve("users-" + users + ".json").toString();
+            String suffix = " (users=" + users + ")";
+            runner.add("JsonWriter.writeAllUsers" + suffix, () -> {
+                List<User> generated = data.users(users, TEAMS_PER_USER);
+                return () -> write(file, generated);
+            });
+            runner.add("JsonReader.read" + suffix, () -> {
+                write(file, data.users(users, TEAMS_PER_USER));
+                return () -> new JsonReader(file).read().getAllUsers().size();
+            });
+        }
+    }
+
+    private static long write(String file, List<User> users) throws IOException {
+        JsonWriter writer = new JsonWriter(file);
+        writer.open();
+        writer.writeAllUsers(users);
+        writer.close();
+        new File(file).deleteOnExit();
+        return users.size();
+    }
+}
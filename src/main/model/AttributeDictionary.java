@@ -0,0 +1,74 @@
+package model;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Canonical dictionary for the player attributes that link players together: nationality, league and club.
+ * Every distinct spelling is stored once and shared by all players that use it, and every value is given a
+ * small int id that is the same for spellings differing only in case. Comparing two players' ids is then
+ * equivalent to comparing the strings with equalsIgnoreCase, without touching the strings.
+ * The dictionary is shared by the whole application and safe to use from several threads.
+ */
+public final class AttributeDictionary {
+    /**
+     * The id given to a missing (null) attribute. It never matches any other id, including itself.
+     */
+    public static final int NO_ID = -1;
+
+    private static final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    private AttributeDictionary() {
+    }
+
+    /**
+     * EFFECTS: Returns the shared instance of the given value, or null if value is null.
+     */
+    public static String intern(String value) {
+        return value == null ? null : entry(value).value;
+    }
+
+    /**
+     * EFFECTS: Returns the id of the given value; values equal ignoring case share an id. Returns NO_ID for null.
+     */
+    public static int idOf(String value) {
+        return value == null ? NO_ID : entry(value).id;
+    }
+
+    /**
+     * EFFECTS: Returns true if both ids stand for the same value, ignoring case. NO_ID matches nothing.
+     */
+    public static boolean sameValue(int id1, int id2) {
+        return id1 == id2 && id1 != NO_ID;
+    }
+
+    /**
+     * EFFECTS: Returns the number of distinct values, ignoring case, seen so far.
+     */
+    public static int size() {
+        return ids.size();
+    }
+
+    private static Entry entry(String value) {
+        Entry entry = entries.get(value);
+        if (entry == null) {
+            int id = ids.computeIfAbsent(value.toLowerCase(Locale.ROOT), key -> nextId.getAndIncrement());
+            entry = entries.computeIfAbsent(value, key -> new Entry(key, id));
+        }
+        return entry;
+    }
+
+    private static final class Entry {
+        private final String value;
+        private final int id;
+
+        Entry(String value, int id) {
+            this.value = value;
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package model;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs password hashing for logins and sign-ups on a bounded pool of daemon worker threads.
+ * At most a fixed number of tasks wait in the queue; further tasks are rejected straight away instead of
+ * piling up behind slow PBKDF2 work. Idle workers exit, so an unused executor holds no threads.
+ * Latency is measured from submission to completion and so includes the time spent queued.
+ */
+class AuthExecutor {
+    private static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final ThreadPoolExecutor pool;
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private volatile long lastLatencyNanos;
+
+    /**
+     * REQUIRES: threads > 0 and queueCapacity > 0
+     * EFFECTS: Creates an executor with up to threads workers and room for queueCapacity waiting tasks.
+     */
+    AuthExecutor(int threads, int queueCapacity) {
+        pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new WorkerFactory());
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * EFFECTS: Runs task on a worker and returns a future for its result. If the queue is full, returns a
+     * future that has already failed with an IllegalStateException.
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long submitted = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(task, pool)
+                    .whenComplete((result, error) -> recordLatency(System.nanoTime() - submitted));
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Too many sign-ins in progress, please try again.", e));
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        lastLatencyNanos = nanos;
+        totalLatencyNanos.addAndGet(nanos);
+        completedCount.incrementAndGet();
+    }
+
+    /**
+     * EFFECTS: Returns the number of tasks waiting for a worker.
+     */
+    int getQueueDepth() {
+        return pool.getQueue().size();
+    }
+
+    /**
+     * EFFECTS: Returns the number of tasks that have completed, successfully or not.
+     */
+    long getCompletedCount() {
+        return completedCount.get();
+    }
+
+    /**
+     * EFFECTS: Returns the number of tasks rejected because the queue was full.
+     */
+    long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * EFFECTS: Returns the latency of the most recently completed task, in milliseconds.
+     */
+    double getLastLatencyMillis() {
+        return lastLatencyNanos / 1_000_000.0;
+    }
+
+    /**
+     * EFFECTS: Returns the average latency of all completed tasks, in milliseconds.
+     */
+    double getAverageLatencyMillis() {
+        long completed = completedCount.get();
+        return completed == 0 ? 0.0 : totalLatencyNanos.get() / 1_000_000.0 / completed;
+    }
+
+    /**
+     * Names the workers and makes them daemons, so pending authentication never keeps the JVM alive.
+     */
+    private static class WorkerFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "auth-worker-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
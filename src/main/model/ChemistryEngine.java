@@ -0,0 +1,245 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Scores starting lineups for a single formation.
+ * The formation's adjacency map is compiled once into integer slot indexes and a flat,
+ * de-duplicated edge list, so scoring a lineup is a pass over two int arrays with no
+ * map lookups and no allocations.
+ */
+public final class ChemistryEngine {
+    public static final int PREFERRED_POSITION_CHEMISTRY = 5;
+    public static final int COMPATIBLE_POSITION_CHEMISTRY = 2;
+    public static final int WRONG_POSITION_CHEMISTRY = -3;
+    public static final int SAME_CLUB_LINK = 3;
+    public static final int SAME_NATION_AND_LEAGUE_LINK = 2;
+    public static final int SAME_NATION_OR_LEAGUE_LINK = 1;
+
+    private final String[] slots;
+    private final Map<String, Integer> slotIndexes;
+    private final Position[] slotPositions;
+    private final int[] slotByPosition;
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] neighbourStart;
+    private final int[] neighbours;
+
+    /**
+     * REQUIRES: adjacencyMap keys are upper-case position names
+     * EFFECTS: Compiles the adjacency map into slot indexes (in sorted position order)
+     * and a list of undirected edges, each appearing exactly once.
+     */
+    ChemistryEngine(Map<String, List<String>> adjacencyMap) {
+        List<String> positions = new ArrayList<>(adjacencyMap.keySet());
+        Collections.sort(positions);
+        slots = positions.toArray(new String[0]);
+        slotIndexes = new HashMap<>();
+        slotPositions = new Position[slots.length];
+        slotByPosition = new int[Position.values().length];
+        Arrays.fill(slotByPosition, -1);
+        for (int i = 0; i < slots.length; i++) {
+            slotIndexes.put(slots[i], i);
+            slotPositions[i] = Position.fromName(slots[i]);
+            if (slotPositions[i] != null) {
+                slotByPosition[slotPositions[i].ordinal()] = i;
+            }
+        }
+
+        boolean[][] linked = new boolean[slots.length][slots.length];
+        List<int[]> edges = new ArrayList<>();
+        for (int i = 0; i < slots.length; i++) {
+            for (String neighbour : adjacencyMap.get(slots[i])) {
+                int j = slotIndexes.get(neighbour);
+                if (i != j && !linked[i][j]) {
+                    linked[i][j] = true;
+                    linked[j][i] = true;
+                    edges.add(new int[]{i, j});
+                }
+            }
+        }
+        edgeFrom = new int[edges.size()];
+        edgeTo = new int[edges.size()];
+        for (int e = 0; e < edges.size(); e++) {
+            edgeFrom[e] = edges.get(e)[0];
+            edgeTo[e] = edges.get(e)[1];
+        }
+        neighbourStart = new int[slots.length + 1];
+        neighbours = new int[edges.size() * 2];
+        compileNeighbours(linked);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Flattens the link matrix into per-slot neighbour ranges (neighbourStart[i] to neighbourStart[i + 1])
+    private void compileNeighbours(boolean[][] linked) {
+        int next = 0;
+        for (int i = 0; i < slots.length; i++) {
+            neighbourStart[i] = next;
+            for (int j = 0; j < slots.length; j++) {
+                if (linked[i][j]) {
+                    neighbours[next++] = j;
+                }
+            }
+        }
+        neighbourStart[slots.length] = next;
+    }
+
+    /**
+     * EFFECTS: Returns the number of slots (required positions) in the formation.
+     */
+    public int getSlotCount() {
+        return slots.length;
+    }
+
+    /**
+     * EFFECTS: Returns the number of distinct links between slots.
+     */
+    public int getEdgeCount() {
+        return edgeFrom.length;
+    }
+
+    /**
+     * EFFECTS: Returns the position name of the given slot.
+     */
+    public String getSlotName(int slot) {
+        return slots[slot];
+    }
+
+    /**
+     * EFFECTS: Returns the position of the given slot.
+     */
+    public Position getSlotPosition(int slot) {
+        return slotPositions[slot];
+    }
+
+    /**
+     * EFFECTS: Returns the slot index of the given position, or -1 if the formation does not contain it.
+     */
+    public int getSlotIndex(Position position) {
+        return position != null ? slotByPosition[position.ordinal()] : -1;
+    }
+
+    /**
+     * EFFECTS: Returns the slot index of the given position (case-insensitive), or -1 if the
+     * formation does not contain it.
+     */
+    public int getSlotIndex(String position) {
+        if (position == null) {
+            return -1;
+        }
+        Integer index = slotIndexes.get(position.toUpperCase());
+        return index != null ? index : -1;
+    }
+
+    /**
+     * EFFECTS: Returns the slots linked to the given slot.
+     */
+    public int[] getNeighbours(int slot) {
+        return Arrays.copyOfRange(neighbours, neighbourStart[slot], neighbourStart[slot + 1]);
+    }
+
+    /**
+     * EFFECTS: Returns a new, empty lineup array indexed by slot.
+     */
+    public Player[] newLineup() {
+        return new Player[slots.length];
+    }
+
+    /**
+     * REQUIRES: lineup.length == getSlotCount()
+     * EFFECTS: Returns true if every slot in the lineup is filled.
+     */
+    public boolean isComplete(Player[] lineup) {
+        for (Player player : lineup) {
+            if (player == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * REQUIRES: lineup.length == getSlotCount()
+     * EFFECTS: Returns the total chemistry of the lineup: position chemistry for every starter
+     * plus link chemistry for every linked pair of slots. Returns 0 if any slot is empty.
+     */
+    public int score(Player[] lineup) {
+        if (!isComplete(lineup)) {
+            return 0;
+        }
+        int chemistry = 0;
+        for (Player player : lineup) {
+            chemistry += player.getPositionChemistry();
+        }
+        for (int e = 0; e < edgeFrom.length; e++) {
+            chemistry += linkChemistry(lineup[edgeFrom[e]], lineup[edgeTo[e]]);
+        }
+        return chemistry;
+    }
+
+    /**
+     * REQUIRES: lineup.length == getSlotCount(), lineup[slot] != null
+     * EFFECTS: Returns the link chemistry between the player in the given slot and every filled
+     * neighbouring slot. This is the amount a running total changes by when that slot is filled
+     * or emptied, and costs O(degree of the slot).
+     */
+    public int slotLinkChemistry(Player[] lineup, int slot) {
+        Player player = lineup[slot];
+        int chemistry = 0;
+        for (int n = neighbourStart[slot]; n < neighbourStart[slot + 1]; n++) {
+            Player neighbour = lineup[neighbours[n]];
+            if (neighbour != null) {
+                chemistry += linkChemistry(player, neighbour);
+            }
+        }
+        return chemistry;
+    }
+
+    /**
+     * EFFECTS: Returns the position chemistry for a player with the given preferred and current
+     * positions: full for the preferred position, partial for a compatible one, a penalty otherwise.
+     */
+    public static int positionChemistry(String preferredPosition, String currentPosition) {
+        if (preferredPosition.equalsIgnoreCase(currentPosition)) {
+            return PREFERRED_POSITION_CHEMISTRY;
+        } else if (PositionCompatibility.isCompatible(preferredPosition, currentPosition)) {
+            return COMPATIBLE_POSITION_CHEMISTRY;
+        }
+        return WRONG_POSITION_CHEMISTRY;
+    }
+
+    /**
+     * EFFECTS: Returns the position chemistry for a player preferring preferredPosition who is placed at
+     * currentPosition. Unknown (null) positions only ever receive the penalty.
+     */
+    public static int positionChemistry(Position preferredPosition, Position currentPosition) {
+        if (preferredPosition != null && preferredPosition == currentPosition) {
+            return PREFERRED_POSITION_CHEMISTRY;
+        } else if (PositionCompatibility.isCompatible(preferredPosition, currentPosition)) {
+            return COMPATIBLE_POSITION_CHEMISTRY;
+        }
+        return WRONG_POSITION_CHEMISTRY;
+    }
+
+    /**
+     * EFFECTS: Returns the link chemistry between two players based on shared club, nationality
+     * and league (ignoring case). Compares the players' dictionary ids rather than the strings.
+     */
+    public static int linkChemistry(Player p1, Player p2) {
+        boolean sameNation = AttributeDictionary.sameValue(p1.getNationalityId(), p2.getNationalityId());
+        boolean sameLeague = AttributeDictionary.sameValue(p1.getLeagueId(), p2.getLeagueId());
+        if (AttributeDictionary.sameValue(p1.getClubId(), p2.getClubId())) {
+            return SAME_CLUB_LINK;
+        } else if (sameNation && sameLeague) {
+            return SAME_NATION_AND_LEAGUE_LINK;
+        } else if (sameNation || sameLeague) {
+            return SAME_NATION_OR_LEAGUE_LINK;
+        }
+        return 0;
+    }
+}
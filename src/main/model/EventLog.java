@@ -1,25 +1,60 @@
-
-
 package model;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Represents a log of football team builder application events.
  * We use the Singleton Design Pattern to ensure that there is only
  * one EventLog in the system and that the system has global access
  * to the single instance of the EventLog.
+ * The log keeps only the most recent events in a fixed-size ring buffer, so a long session cannot
+ * exhaust memory. Logging never locks: a writer claims the next sequence number and stores its event in
+ * that sequence's slot. Iterating takes a snapshot of the events present at that moment without
+ * blocking writers; events overwritten while the snapshot is taken are skipped.
+ * Listeners see every event as it is logged, including those later overwritten in the ring.
+ * Events on hot paths are logged with a category and a supplier of their description: if the category is
+ * disabled, neither the description nor the event is ever built. Bulk operations such as loading every
+ * saved team can also suppress categories on their own thread for their duration and log one summary event
+ * instead.
  */
 public class EventLog implements Iterable<Event> {
-    /** The only EventLog in the system (Singleton Design Pattern) */
-    private static EventLog theLog;
-    private Collection<Event> events;
+    /** Number of events kept unless setCapacity is called. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /**
+     * Groups of events that can be switched on and off together.
+     */
+    public enum Category {
+        TEAM, PLAYER, COMMUNITY, PERSISTENCE
+    }
+
+    private static final int ALL_CATEGORIES = (1 << Category.values().length) - 1;
+
+    private final AtomicReference<Ring> ring;
+    private final ThreadLocal<int[]> suppressionCounts =
+            ThreadLocal.withInitial(() -> new int[Category.values().length]);
+    private final AtomicInteger openSuppressions = new AtomicInteger();
+    private volatile int enabledCategories = ALL_CATEGORIES;
+    private final List<Consumer<Event>> listeners = new CopyOnWriteArrayList<>();
 
     /** Prevent external construction. (Singleton Design Pattern) */
-    private EventLog() {
-        events = new ArrayList<>();
+    private EventLog(int capacity) {
+        ring = new AtomicReference<>(new Ring(capacity));
+    }
+
+    /** Creates the only EventLog when the holder class is first used; class initialization publishes it safely. */
+    private static class Holder {
+        private static final EventLog INSTANCE = new EventLog(DEFAULT_CAPACITY);
     }
 
     /**
@@ -28,31 +63,214 @@ public class EventLog implements Iterable<Event> {
      * @return instance of EventLog
      */
     public static EventLog getInstance() {
-        if (theLog == null) {
-            theLog = new EventLog();
-        }
-
-        return theLog;
+        return Holder.INSTANCE;
     }
 
     /**
-     * Adds an event to the event log.
+     * Adds an event to the event log, overwriting the oldest event if the log is full.
      * @param e the event to be added
      */
     public void logEvent(Event e) {
-        events.add(e);
+        ring.get().add(e);
+        for (Consumer<Event> listener : listeners) {
+            listener.accept(e);
+        }
+    }
+
+    /**
+     * Adds an event to the event log if its category is enabled. The description is only built, and the
+     * event only created, when the event is actually logged.
+     * @param category    the category of the event
+     * @param description supplies the description of the event
+     */
+    public void logEvent(Category category, Supplier<String> description) {
+        if (isEnabled(category)) {
+            logEvent(new Event(description.get()));
+        }
+    }
+
+    /**
+     * Returns true if events of the category are logged.
+     * @param category the category
+     * @return true if the category is enabled
+     */
+    public boolean isEnabled(Category category) {
+        if ((enabledCategories & (1 << category.ordinal())) == 0) {
+            return false;
+        }
+        // Only look up this thread's suppressions while some thread has one open
+        return openSuppressions.get() == 0 || suppressionCounts.get()[category.ordinal()] == 0;
+    }
+
+    /**
+     * Turns logging of a category of events on or off. All categories are enabled to begin with.
+     * @param category the category
+     * @param enabled  true to log events of the category, false to skip them
+     */
+    public synchronized void setEnabled(Category category, boolean enabled) {
+        int bit = 1 << category.ordinal();
+        enabledCategories = enabled ? enabledCategories | bit : enabledCategories & ~bit;
+    }
+
+    /**
+     * Stops logging events of the given categories on the calling thread until the returned suppression is
+     * closed, for example while a bulk load creates thousands of teams. Events the same categories log on
+     * other threads are still recorded. Suppressions may overlap; a category is logged again once every
+     * suppression of it has been closed.
+     * @param categories the categories to suppress
+     * @return the suppression, to be closed when the bulk operation ends
+     */
+    public Suppression suppress(Category... categories) {
+        Suppression suppression = new Suppression(suppressionCounts.get(), categories);
+        suppression.change(1);
+        openSuppressions.incrementAndGet();
+        return suppression;
+    }
+
+    /**
+     * Registers a listener that is called with every event logged from now on, on the logging thread.
+     * Listeners should return quickly, for example by queueing the event for another thread.
+     * @param listener the listener to add
+     */
+    public void addListener(Consumer<Event> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Stops calling a listener registered with addListener.
+     * @param listener the listener to remove
+     */
+    public void removeListener(Consumer<Event> listener) {
+        listeners.remove(listener);
     }
 
     /**
      * Clears the event log and logs the event.
      */
     public void clear() {
-        events.clear();
+        Ring current = ring.get();
+        current.floor.set(current.head.get());
         logEvent(new Event("Event log cleared."));
     }
 
+    /**
+     * REQUIRES: capacity > 0
+     * Changes how many events the log keeps (rounded up to a power of two), keeping the most recent ones.
+     * Events logged by other threads while the capacity changes may be lost.
+     * @param capacity the minimum number of events to keep
+     */
+    public void setCapacity(int capacity) {
+        Ring resized = new Ring(capacity);
+        for (Event event : ring.get().snapshot()) {
+            resized.add(event);
+        }
+        ring.set(resized);
+    }
+
+    /**
+     * Returns the number of events the log can hold before it starts overwriting the oldest.
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return ring.get().slots.length();
+    }
+
+    /**
+     * Returns how many events logged since the log was last cleared or resized have been overwritten.
+     * @return the number of events no longer in the log
+     */
+    public long getDroppedCount() {
+        return ring.get().dropped();
+    }
+
+    /**
+     * Returns a snapshot of the events currently in the log, oldest first.
+     * @return an unmodifiable list of events
+     */
+    public List<Event> snapshot() {
+        return ring.get().snapshot();
+    }
+
     @Override
     public Iterator<Event> iterator() {
-        return events.iterator();
+        return snapshot().iterator();
+    }
+
+    /**
+     * Suppression of some categories of events on one thread, lifted when it is closed. Closing it again has
+     * no effect.
+     */
+    public final class Suppression implements AutoCloseable {
+        private final int[] counts;
+        private final Category[] categories;
+        private boolean closed;
+
+        private Suppression(int[] counts, Category[] categories) {
+            this.counts = counts;
+            this.categories = categories.clone();
+        }
+
+        private void change(int delta) {
+            for (Category category : categories) {
+                counts[category.ordinal()] += delta;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                change(-1);
+                openSuppressions.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * A power-of-two ring of slots. Sequence number s lives in slot s & mask; each slot remembers the
+     * sequence of the event in it so a reader can tell a current event from a stale or overwritten one.
+     */
+    private static class Ring {
+        private final AtomicReferenceArray<Entry> slots;
+        private final int mask;
+        private final AtomicLong head = new AtomicLong();
+        private final AtomicLong floor = new AtomicLong();
+
+        Ring(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1);
+            this.mask = slots.length() - 1;
+        }
+
+        void add(Event event) {
+            long sequence = head.getAndIncrement();
+            slots.set((int) (sequence & mask), new Entry(sequence, event));
+        }
+
+        long dropped() {
+            return Math.max(0, head.get() - slots.length() - floor.get());
+        }
+
+        List<Event> snapshot() {
+            long end = head.get();
+            long start = Math.max(floor.get(), end - slots.length());
+            List<Event> events = new ArrayList<>((int) (end - start));
+            for (long sequence = start; sequence < end; sequence++) {
+                Entry entry = slots.get((int) (sequence & mask));
+                if (entry != null && entry.sequence == sequence) {
+                    events.add(entry.event);
+                }
+            }
+            return Collections.unmodifiableList(events);
+        }
+    }
+
+    private static class Entry {
+        private final long sequence;
+        private final Event event;
+
+        Entry(long sequence, Event event) {
+            this.sequence = sequence;
+            this.event = event;
+        }
     }
 }
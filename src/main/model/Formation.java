@@ -16,6 +16,7 @@ public class Formation {
 
     private static final Map<String, Map<String, List<String>>> formationsData = new HashMap<>();
     private static final Map<String, Map<String, double[]>> positionsData = new HashMap<>();
+    private static final Map<String, ChemistryEngine> chemistryEngines = new HashMap<>();
     private static final String FORMATIONS_FILE = "./data/formations.json";
 
     static {
@@ -45,10 +46,31 @@ public class Formation {
                 .collect(Collectors.toSet());
     }
 
+    /**
+     * EFFECTS: Returns the positions required by this formation as Position values.
+     */
+    public Set<Position> getRequiredPositionTypes() {
+        Set<Position> positions = EnumSet.noneOf(Position.class);
+        for (String position : positionAdjacencyMap.keySet()) {
+            positions.add(Position.fromName(position));
+        }
+        return positions;
+    }
+
     public Map<String, double[]> getPositionCoordinates() {
         return positionCoordinates;
     }
 
+    /**
+     * EFFECTS: Returns the chemistry engine compiled from this formation's adjacency map.
+     * Each formation type is compiled once and shared by every Formation of that type.
+     */
+    public ChemistryEngine getChemistryEngine() {
+        synchronized (chemistryEngines) {
+            return chemistryEngines.computeIfAbsent(formationType, k -> new ChemistryEngine(positionAdjacencyMap));
+        }
+    }
+
     public static Set<String> getAllFormationTypes() {
         return formationsData.keySet();
     }
@@ -87,6 +109,7 @@ public class Formation {
                 }
 
                 formationsData.put(formationName, adjacencyMap);
+                chemistryEngines.remove(formationName);
                 positionsData.put(formationName, coordinatesMap);
             }
         } catch (IOException e) {
@@ -0,0 +1,117 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the formation that gets the most chemistry out of a squad.
+ * Every formation is optimized independently, so the formations are split across a ForkJoinPool and
+ * each leaf task runs a SquadOptimizer over the squad for one formation. A formation whose search hits its
+ * time budget only has a lower bound on its chemistry, so it is ranked after every formation whose best
+ * lineup was proven; callers should show such results as cut short.
+ */
+public class FormationRanker {
+    private final ForkJoinPool forkJoinPool;
+    private final long timeBudgetMillisPerFormation;
+
+    /**
+     * EFFECTS: Creates a ranker with its own ForkJoinPool of one worker per core, so the CPU-bound search
+     * never occupies the common pool, and spends at most timeBudgetMillisPerFormation optimizing each
+     * formation.
+     */
+    public FormationRanker(long timeBudgetMillisPerFormation) {
+        this(new ForkJoinPool(Runtime.getRuntime().availableProcessors()), timeBudgetMillisPerFormation);
+    }
+
+    /**
+     * EFFECTS: Creates a ranker that runs on the given pool and spends at most
+     * timeBudgetMillisPerFormation optimizing each formation.
+     */
+    public FormationRanker(ForkJoinPool forkJoinPool, long timeBudgetMillisPerFormation) {
+        this.forkJoinPool = forkJoinPool;
+        this.timeBudgetMillisPerFormation = timeBudgetMillisPerFormation;
+    }
+
+    /**
+     * EFFECTS: Returns the best lineup of the team's squad for every formation, ordered by chemistry
+     * (highest first). Formations the squad cannot fill are left out.
+     */
+    public List<SquadOptimizer.Result> rankFormations(Team team) {
+        return rankFormations(team.getPlayers());
+    }
+
+    /**
+     * EFFECTS: Returns the best lineup from the given players for every formation: proven optima first,
+     * then lineups whose search was cut short, each ordered by chemistry (highest first) and then by
+     * formation type. Formations the players cannot fill are left out.
+     */
+    public List<SquadOptimizer.Result> rankFormations(List<Player> squad) {
+        return rank(forkJoinPool.invoke(rootTask(squad)));
+    }
+
+    /**
+     * EFFECTS: Starts ranking the given players on this ranker's pool and returns a future for the
+     * result of rankFormations(squad). The calling thread does none of the work.
+     */
+    public CompletableFuture<List<SquadOptimizer.Result>> rankFormationsAsync(List<Player> squad) {
+        return CompletableFuture.supplyAsync(() -> rank(rootTask(squad).invoke()), forkJoinPool);
+    }
+
+    // EFFECTS: Returns a task that optimizes the squad for every formation
+    private RankTask rootTask(List<Player> squad) {
+        String[] formationTypes = Formation.getAllFormationTypes().toArray(new String[0]);
+        return new RankTask(squad, formationTypes, 0, formationTypes.length);
+    }
+
+    // MODIFIES: results
+    // EFFECTS: Drops the formations that could not be filled and orders the rest as rankFormations does
+    private List<SquadOptimizer.Result> rank(List<SquadOptimizer.Result> results) {
+        results.removeIf(result -> !result.isFound());
+        results.sort(Comparator.comparing((SquadOptimizer.Result result) -> !result.isExhaustive())
+                .thenComparing(Comparator.comparingInt(SquadOptimizer.Result::getScore).reversed())
+                .thenComparing(SquadOptimizer.Result::getFormationType));
+        return results;
+    }
+
+    /**
+     * Optimizes formationTypes[from, to), splitting the range in half until one formation is left.
+     */
+    private class RankTask extends RecursiveTask<List<SquadOptimizer.Result>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Player> squad;
+        private final String[] formationTypes;
+        private final int from;
+        private final int to;
+
+        RankTask(List<Player> squad, String[] formationTypes, int from, int to) {
+            this.squad = squad;
+            this.formationTypes = formationTypes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<SquadOptimizer.Result> compute() {
+            List<SquadOptimizer.Result> results = new ArrayList<>();
+            if (to - from <= 1) {
+                for (int i = from; i < to; i++) {
+                    SquadOptimizer optimizer = new SquadOptimizer(SquadOptimizer.Objective.CHEMISTRY,
+                            timeBudgetMillisPerFormation);
+                    results.add(optimizer.optimize(squad, new Formation(formationTypes[i]), Integer.MAX_VALUE));
+                }
+                return results;
+            }
+            int middle = (from + to) >>> 1;
+            RankTask left = new RankTask(squad, formationTypes, from, middle);
+            left.fork();
+            results.addAll(new RankTask(squad, formationTypes, middle, to).compute());
+            results.addAll(left.join());
+            return results;
+        }
+    }
+}
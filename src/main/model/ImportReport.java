@@ -0,0 +1,79 @@
+package model;
+
+import java.util.Locale;
+
+/**
+ * Represents the outcome of a bulk user import: how many users were imported, whether they were saved,
+ * and how long each phase took.
+ */
+public class ImportReport {
+    private final int importedCount;
+    private final boolean saved;
+    private final long readNanos;
+    private final long validationNanos;
+    private final long hashingNanos;
+    private final long saveNanos;
+
+    /**
+     * EFFECTS: Creates a report of an import of importedCount users with the given phase durations.
+     */
+    public ImportReport(int importedCount, boolean saved, long readNanos, long validationNanos, long hashingNanos,
+                        long saveNanos) {
+        this.importedCount = importedCount;
+        this.saved = saved;
+        this.readNanos = readNanos;
+        this.validationNanos = validationNanos;
+        this.hashingNanos = hashingNanos;
+        this.saveNanos = saveNanos;
+    }
+
+    public int getImportedCount() {
+        return importedCount;
+    }
+
+    /**
+     * EFFECTS: Returns true if the imported users were written to disk.
+     */
+    public boolean isSaved() {
+        return saved;
+    }
+
+    public double getReadMillis() {
+        return readNanos / 1_000_000.0;
+    }
+
+    public double getValidationMillis() {
+        return validationNanos / 1_000_000.0;
+    }
+
+    public double getHashingMillis() {
+        return hashingNanos / 1_000_000.0;
+    }
+
+    public double getSaveMillis() {
+        return saveNanos / 1_000_000.0;
+    }
+
+    /**
+     * EFFECTS: Returns the duration of the whole import, in milliseconds.
+     */
+    public double getTotalMillis() {
+        return (readNanos + validationNanos + hashingNanos + saveNanos) / 1_000_000.0;
+    }
+
+    /**
+     * EFFECTS: Returns the number of users imported per second over the whole import.
+     */
+    public double getUsersPerSecond() {
+        double seconds = getTotalMillis() / 1000.0;
+        return seconds == 0 ? 0.0 : importedCount / seconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "imported %d users in %.1f ms (%.1f users/s): read %.1f ms, validate %.1f ms, hash %.1f ms, "
+                        + "save %.1f ms%s", importedCount, getTotalMillis(), getUsersPerSecond(), getReadMillis(),
+                getValidationMillis(), getHashingMillis(), getSaveMillis(), saved ? "" : " (not saved)");
+    }
+}
@@ -3,18 +3,23 @@ package model;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.spec.InvalidKeySpecException;
+import java.util.Arrays;
 import java.util.Base64;
 import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
 
 /**
  * Utility class for password hashing and verification.
+ * Each thread keeps the SecretKeyFactory it first looked up, so only the first hash or verification on a
+ * thread pays for the provider lookup and threads never share (or wait for) a factory. The password
+ * characters handed to the key derivation are cleared as soon as the hash has been computed.
  */
 public class PasswordUtils {
     private static final int ITERATIONS = 65536;
     private static final int KEY_LENGTH = 256;
     private static final String ALGORITHM = "PBKDF2WithHmacSHA1";
     private static final SecureRandom RANDOM = new SecureRandom();
+    private static final ThreadLocal<SecretKeyFactory> FACTORY = new ThreadLocal<>();
 
     // Private constructor to prevent instantiation
     private PasswordUtils() {
@@ -46,12 +51,7 @@ public class PasswordUtils {
      * @return the hashed password in the format iterations:salt:hash
      */
     public static String hashPassword(String password) {
-        try {
-            SecretKeyFactory factory = SecretKeyFactory.getInstance(ALGORITHM);
-            return hashPassword(password, factory);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error initializing SecretKeyFactory", e);
-        }
+        return hashPassword(password, factory());
     }
 
     /**
@@ -90,12 +90,28 @@ public class PasswordUtils {
      * @return true if the password matches the hash, false otherwise
      */
     public static boolean verifyPassword(String password, String storedHash) {
-        try {
-            SecretKeyFactory factory = SecretKeyFactory.getInstance(ALGORITHM);
-            return verifyPassword(password, storedHash, factory);
-        } catch (NoSuchAlgorithmException e) {
-            throw new RuntimeException("Error initializing SecretKeyFactory", e);
+        return verifyPassword(password, storedHash, factory());
+    }
+
+    // EFFECTS: Returns this thread's SecretKeyFactory, looking it up on first use
+    private static SecretKeyFactory factory() {
+        SecretKeyFactory factory = FACTORY.get();
+        if (factory == null) {
+            try {
+                factory = SecretKeyFactory.getInstance(ALGORITHM);
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("Error initializing SecretKeyFactory", e);
+            }
+            FACTORY.set(factory);
         }
+        return factory;
+    }
+
+    /**
+     * EFFECTS: Forgets the current thread's SecretKeyFactory so the next use looks it up again.
+     */
+    static void discardThreadFactory() {
+        FACTORY.remove();
     }
 
     private static byte[] getSalt() {
@@ -107,6 +123,11 @@ public class PasswordUtils {
     private static byte[] pbkdf2(char[] password, byte[] salt, int iterations, int keyLength, SecretKeyFactory factory)
             throws NoSuchAlgorithmException, InvalidKeySpecException {
         PBEKeySpec spec = new PBEKeySpec(password, salt, iterations, keyLength);
-        return factory.generateSecret(spec).getEncoded();
+        try {
+            return factory.generateSecret(spec).getEncoded();
+        } finally {
+            spec.clearPassword();
+            Arrays.fill(password, '\0');
+        }
     }
 }
@@ -2,10 +2,14 @@ package model;
 
 import org.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Represents a FIFA player with specific attributes.
  */
 public class Player {
+    private static final int UNSCORED = Integer.MIN_VALUE;
 
     private String league;
     private String name;
@@ -24,16 +28,28 @@ public class Player {
     private int defending;
     private int physicality;
     private int skillMoves;
+    private Position preferredPositionType;
+    private Position currentPositionType;
+    private int positionChemistry = UNSCORED;
+    private int nationalityId;
+    private int leagueId;
+    private int clubId;
+    private final List<Team> teams = new ArrayList<>(1);
 
     public Player(String name, String nationality, String league, String clubAffiliation, String preferredPosition,
                   String currentPosition, int rating, int pace, int passing, int shooting, int dribbling, int defending,
                   int physicality, int skillMoves, int weakFoot, int price, boolean isInStarting11) {
         this.name = name;
-        this.nationality = nationality;
-        this.league = league;
-        this.clubAffiliation = clubAffiliation;
+        this.nationality = AttributeDictionary.intern(nationality);
+        this.league = AttributeDictionary.intern(league);
+        this.clubAffiliation = AttributeDictionary.intern(clubAffiliation);
+        this.nationalityId = AttributeDictionary.idOf(nationality);
+        this.leagueId = AttributeDictionary.idOf(league);
+        this.clubId = AttributeDictionary.idOf(clubAffiliation);
         this.preferredPosition = preferredPosition != null ? preferredPosition.toUpperCase() : null;
         this.currentPosition = currentPosition != null ? currentPosition.toUpperCase() : null;
+        this.preferredPositionType = Position.fromName(preferredPosition);
+        this.currentPositionType = Position.fromName(currentPosition);
         this.rating = rating;
         this.pace = pace;
         this.passing = passing;
@@ -87,7 +103,10 @@ public class Player {
         return isInStarting11;
     }
 
-    public void setInStarting11(boolean isInStarting11) {
+    // MODIFIES: this
+    // EFFECTS: Sets the starter flag. Only Team calls this, so the flag always matches the team's lineup and
+    //          its cached starting and substitute views; use Team.setPlayerInStarting11 instead.
+    void setInStarting11(boolean isInStarting11) {
         this.isInStarting11 = isInStarting11;
     }
 
@@ -114,6 +133,9 @@ public class Player {
 
     public void setCurrentPosition(String position) {
         this.currentPosition = position;
+        this.currentPositionType = Position.fromName(position);
+        this.positionChemistry = UNSCORED;
+        notifyPositionChanged();
     }
 
     public boolean isInPreferredPosition() {
@@ -124,7 +146,34 @@ public class Player {
      * EFFECTS: Returns true if the player's current position is compatible with their preferred position.
      */
     public boolean isPositionCompatible() {
-        return PositionCompatibility.isCompatible(preferredPosition, currentPosition);
+        return PositionCompatibility.isCompatible(preferredPositionType, currentPositionType);
+    }
+
+    /**
+     * EFFECTS: Returns the current position as a Position, or null if it is not a known position.
+     */
+    public Position getCurrentPositionType() {
+        return currentPositionType;
+    }
+
+    /**
+     * EFFECTS: Returns the preferred position as a Position, or null if it is not a known position.
+     */
+    public Position getPreferredPositionType() {
+        return preferredPositionType;
+    }
+
+    /**
+     * EFFECTS: Returns the position chemistry of the player in their current position.
+     * The value is cached until either position changes.
+     */
+    public int getPositionChemistry() {
+        if (positionChemistry == UNSCORED && preferredPositionType != null && currentPositionType != null) {
+            positionChemistry = ChemistryEngine.positionChemistry(preferredPositionType, currentPositionType);
+        } else if (positionChemistry == UNSCORED) {
+            positionChemistry = ChemistryEngine.positionChemistry(preferredPosition, currentPosition);
+        }
+        return positionChemistry;
     }
 
     public String getPreferredPosition() {
@@ -133,6 +182,27 @@ public class Player {
 
     public void setPreferredPosition(String preferredPosition) {
         this.preferredPosition = preferredPosition;
+        this.preferredPositionType = Position.fromName(preferredPosition);
+        this.positionChemistry = UNSCORED;
+        notifyPositionChanged();
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Records that the player is on the team, so the team hears when the player's positions change
+    void joinTeam(Team team) {
+        teams.add(team);
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Forgets that the player is on the team
+    void leaveTeam(Team team) {
+        teams.remove(team);
+    }
+
+    private void notifyPositionChanged() {
+        for (Team team : teams) {
+            team.positionChanged(this);
+        }
     }
 
     public int getPace() {
@@ -163,6 +233,27 @@ public class Player {
         return price;
     }
 
+    /**
+     * EFFECTS: Returns the AttributeDictionary id of the player's nationality.
+     */
+    public int getNationalityId() {
+        return nationalityId;
+    }
+
+    /**
+     * EFFECTS: Returns the AttributeDictionary id of the player's league.
+     */
+    public int getLeagueId() {
+        return leagueId;
+    }
+
+    /**
+     * EFFECTS: Returns the AttributeDictionary id of the player's club.
+     */
+    public int getClubId() {
+        return clubId;
+    }
+
     /**
      * Converts the player to a JSON object.
      *
@@ -0,0 +1,237 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A column-oriented copy of a list of players for bulk filtering and aggregation.
+ * Each numeric attribute is held in its own primitive array (the nine 1-100 style attributes as unsigned
+ * bytes, price as ints), so a filter or aggregate over one attribute is a straight pass over a dense array
+ * instead of a walk over Player objects scattered across the heap. The filter loops store each row number
+ * unconditionally and advance the output index by the comparison result, so they do not branch on the data
+ * and a poorly predictable filter costs no mispredictions.
+ * Filters return row numbers in ascending order; rows can be narrowed further with refine and mapped back
+ * to the original players with getPlayer or getPlayers. The table does not follow later changes to the
+ * players it was built from.
+ */
+public class PlayerTable {
+
+    /**
+     * The numeric attributes a table stores.
+     */
+    public enum Column {
+        RATING, PACE, PASSING, SHOOTING, DRIBBLING, DEFENDING, PHYSICALITY, SKILL_MOVES, WEAK_FOOT, PRICE
+    }
+
+    private static final int MAX_BYTE_VALUE = 0xFF;
+
+    private final Player[] players;
+    private final byte[][] byteColumns;
+    private final int[] prices;
+
+    /**
+     * REQUIRES: every attribute except price is between 0 and 255
+     * EFFECTS: Builds a table holding the attributes of the given players, one row per player in list order.
+     *
+     * @throws IllegalArgumentException if an attribute does not fit in a byte column
+     */
+    public PlayerTable(List<Player> players) {
+        this.players = players.toArray(new Player[0]);
+        this.byteColumns = new byte[Column.PRICE.ordinal()][this.players.length];
+        this.prices = new int[this.players.length];
+        for (int row = 0; row < this.players.length; row++) {
+            Player p = this.players[row];
+            int[] values = {p.getRating(), p.getPace(), p.getPassing(), p.getShooting(), p.getDribbling(),
+                    p.getDefending(), p.getPhysicality(), p.getSkillMoves(), p.getWeakFoot()};
+            for (int c = 0; c < values.length; c++) {
+                if (values[c] < 0 || values[c] > MAX_BYTE_VALUE) {
+                    throw new IllegalArgumentException("Player " + p.getName() + " has " + Column.values()[c]
+                            + " " + values[c] + ", outside 0-" + MAX_BYTE_VALUE);
+                }
+                byteColumns[c][row] = (byte) values[c];
+            }
+            prices[row] = p.getPrice();
+        }
+    }
+
+    /**
+     * EFFECTS: Returns the number of rows.
+     */
+    public int size() {
+        return players.length;
+    }
+
+    /**
+     * REQUIRES: 0 <= row < size()
+     * EFFECTS: Returns the player the row was built from.
+     */
+    public Player getPlayer(int row) {
+        return players[row];
+    }
+
+    /**
+     * EFFECTS: Returns the players the given rows were built from, in row order.
+     */
+    public List<Player> getPlayers(int[] rows) {
+        List<Player> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(players[row]);
+        }
+        return result;
+    }
+
+    /**
+     * REQUIRES: 0 <= row < size()
+     * EFFECTS: Returns the value of the column in the row.
+     */
+    public int get(Column column, int row) {
+        return column == Column.PRICE ? prices[row] : Byte.toUnsignedInt(byteColumns[column.ordinal()][row]);
+    }
+
+    /**
+     * EFFECTS: Returns every row whose value in the column is between min and max inclusive.
+     */
+    public int[] select(Column column, int min, int max) {
+        int[] hits = new int[players.length + 1];
+        int count;
+        if (column == Column.PRICE) {
+            count = selectInts(prices, min, max, hits);
+        } else {
+            count = selectBytes(byteColumns[column.ordinal()], min, max, hits);
+        }
+        return Arrays.copyOf(hits, count);
+    }
+
+    /**
+     * EFFECTS: Returns the rows among the given ones whose value in the column is between min and max
+     * inclusive, keeping their order.
+     */
+    public int[] refine(int[] rows, Column column, int min, int max) {
+        int[] hits = new int[rows.length + 1];
+        int count = 0;
+        for (int row : rows) {
+            int value = get(column, row);
+            hits[count] = row;
+            count += (value >= min & value <= max) ? 1 : 0;
+        }
+        return Arrays.copyOf(hits, count);
+    }
+
+    /**
+     * EFFECTS: Returns the number of rows whose value in the column is between min and max inclusive.
+     */
+    public int count(Column column, int min, int max) {
+        int count = 0;
+        if (column == Column.PRICE) {
+            for (int value : prices) {
+                count += (value >= min & value <= max) ? 1 : 0;
+            }
+        } else {
+            for (byte b : byteColumns[column.ordinal()]) {
+                int value = b & MAX_BYTE_VALUE;
+                count += (value >= min & value <= max) ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * EFFECTS: Returns the sum of the column over all rows.
+     */
+    public long sum(Column column) {
+        long sum = 0;
+        if (column == Column.PRICE) {
+            for (int value : prices) {
+                sum += value;
+            }
+        } else {
+            for (byte b : byteColumns[column.ordinal()]) {
+                sum += b & MAX_BYTE_VALUE;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * EFFECTS: Returns the sum of the column over the given rows.
+     */
+    public long sum(Column column, int[] rows) {
+        long sum = 0;
+        for (int row : rows) {
+            sum += get(column, row);
+        }
+        return sum;
+    }
+
+    /**
+     * EFFECTS: Returns the average of the column over all rows, or 0 if the table is empty.
+     */
+    public double average(Column column) {
+        return players.length == 0 ? 0.0 : (double) sum(column) / players.length;
+    }
+
+    /**
+     * EFFECTS: Returns the average of the column over the given rows, or 0 if there are none.
+     */
+    public double average(Column column, int[] rows) {
+        return rows.length == 0 ? 0.0 : (double) sum(column, rows) / rows.length;
+    }
+
+    /**
+     * REQUIRES: size() > 0
+     * EFFECTS: Returns the largest value in the column.
+     */
+    public int max(Column column) {
+        int max = Integer.MIN_VALUE;
+        if (column == Column.PRICE) {
+            for (int value : prices) {
+                max = Math.max(max, value);
+            }
+        } else {
+            for (byte b : byteColumns[column.ordinal()]) {
+                max = Math.max(max, b & MAX_BYTE_VALUE);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * REQUIRES: size() > 0
+     * EFFECTS: Returns the smallest value in the column.
+     */
+    public int min(Column column) {
+        int min = Integer.MAX_VALUE;
+        if (column == Column.PRICE) {
+            for (int value : prices) {
+                min = Math.min(min, value);
+            }
+        } else {
+            for (byte b : byteColumns[column.ordinal()]) {
+                min = Math.min(min, b & MAX_BYTE_VALUE);
+            }
+        }
+        return min;
+    }
+
+    // EFFECTS: Writes the rows whose value is in range to hits (which has one spare slot) and returns how many
+    private static int selectInts(int[] column, int min, int max, int[] hits) {
+        int count = 0;
+        for (int row = 0; row < column.length; row++) {
+            int value = column[row];
+            hits[count] = row;
+            count += (value >= min & value <= max) ? 1 : 0;
+        }
+        return count;
+    }
+
+    private static int selectBytes(byte[] column, int min, int max, int[] hits) {
+        int count = 0;
+        for (int row = 0; row < column.length; row++) {
+            int value = column[row] & MAX_BYTE_VALUE;
+            hits[count] = row;
+            count += (value >= min & value <= max) ? 1 : 0;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,188 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Keeps teams ordered by likes (most liked first, ties in the order the teams were added).
+ * The order is held in a treap whose nodes know the size of their subtree, so adding, removing or
+ * re-ranking a team is O(log n) and reading "limit teams starting at offset" is O(log n + limit).
+ */
+public class PopularityLeaderboard {
+    private final Map<Team, Node> nodes = new HashMap<>();
+    private final Random random = new Random();
+    private Node root;
+    private long nextSequence;
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Adds the team at the rank given by its current likes; does nothing if it is already present.
+     */
+    public void add(Team team) {
+        if (!nodes.containsKey(team)) {
+            Node node = new Node(team, team.getLikes(), nextSequence++, random.nextInt());
+            nodes.put(team, node);
+            root = insert(root, node);
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Moves the team to the rank given by its current likes.
+     */
+    public void update(Team team) {
+        Node node = nodes.get(team);
+        if (node != null && node.likes != team.getLikes()) {
+            root = erase(root, node);
+            node.likes = team.getLikes();
+            node.left = null;
+            node.right = null;
+            node.size = 1;
+            root = insert(root, node);
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Removes the team from the leaderboard.
+     */
+    public void remove(Team team) {
+        Node node = nodes.remove(team);
+        if (node != null) {
+            root = erase(root, node);
+        }
+    }
+
+    /**
+     * EFFECTS: Returns the number of teams on the leaderboard.
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * REQUIRES: offset >= 0, limit >= 0
+     * EFFECTS: Returns at most limit teams, starting at the given rank (0 is the most liked team).
+     */
+    public List<Team> page(int offset, int limit) {
+        List<Team> result = new ArrayList<>(Math.max(0, Math.min(limit, size() - offset)));
+        collect(root, offset, limit, result);
+        return result;
+    }
+
+    // EFFECTS: Appends the in-order teams of the subtree from the offset-th one until out holds limit teams
+    private void collect(Node node, int offset, int limit, List<Team> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (offset < leftSize) {
+            collect(node.left, offset, limit, out);
+        }
+        if (offset <= leftSize && out.size() < limit) {
+            out.add(node.team);
+        }
+        collect(node.right, Math.max(0, offset - leftSize - 1), limit, out);
+    }
+
+    private Node insert(Node tree, Node node) {
+        if (tree == null) {
+            return node;
+        }
+        if (node.priority > tree.priority) {
+            Node[] parts = split(tree, node);
+            node.left = parts[0];
+            node.right = parts[1];
+            return resize(node);
+        }
+        if (compare(node, tree) < 0) {
+            tree.left = insert(tree.left, node);
+        } else {
+            tree.right = insert(tree.right, node);
+        }
+        return resize(tree);
+    }
+
+    // EFFECTS: Splits the tree into the nodes ranked before key and the nodes ranked after it
+    private Node[] split(Node tree, Node key) {
+        if (tree == null) {
+            return new Node[]{null, null};
+        }
+        if (compare(tree, key) < 0) {
+            Node[] parts = split(tree.right, key);
+            tree.right = parts[0];
+            return new Node[]{resize(tree), parts[1]};
+        }
+        Node[] parts = split(tree.left, key);
+        tree.left = parts[1];
+        return new Node[]{parts[0], resize(tree)};
+    }
+
+    private Node erase(Node tree, Node node) {
+        if (tree == null) {
+            return null;
+        }
+        if (tree == node) {
+            return merge(tree.left, tree.right);
+        }
+        if (compare(node, tree) < 0) {
+            tree.left = erase(tree.left, node);
+        } else {
+            tree.right = erase(tree.right, node);
+        }
+        return resize(tree);
+    }
+
+    // REQUIRES: every node in a is ranked before every node in b
+    private Node merge(Node a, Node b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            return resize(a);
+        }
+        b.left = merge(a, b.left);
+        return resize(b);
+    }
+
+    // EFFECTS: Orders by likes descending, then by when the team was added
+    private static int compare(Node a, Node b) {
+        if (a.likes != b.likes) {
+            return Integer.compare(b.likes, a.likes);
+        }
+        return Long.compare(a.sequence, b.sequence);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node resize(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static class Node {
+        private final Team team;
+        private final long sequence;
+        private final int priority;
+        private int likes;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        Node(Team team, int likes, long sequence, int priority) {
+            this.team = team;
+            this.likes = likes;
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The positions a player can be listed at or placed in, including the formation-specific slots
+ * (LCB, RAM, LST, ...). Each position knows its base position and carries a bitmask of the
+ * positions a player preferring it can also play, so a compatibility check is a single AND.
+ */
+public enum Position {
+    GK(null),
+    RB(null),
+    RWB(null),
+    CB(null),
+    LB(null),
+    LWB(null),
+    CDM(null),
+    CM(null),
+    CAM(null),
+    RM(null),
+    LM(null),
+    RW(null),
+    LW(null),
+    CF(null),
+    ST(null),
+    RF(null),
+    LF(null),
+    LCB(CB),
+    RCB(CB),
+    LDM(CDM),
+    RDM(CDM),
+    LCM(CM),
+    RCM(CM),
+    LAM(CAM),
+    RAM(CAM),
+    LST(ST),
+    RST(ST);
+
+    private static final Map<String, Position> byName = new HashMap<>();
+
+    private final Position base;
+    private final long bit;
+    private long compatibleMask;
+
+    static {
+        for (Position position : values()) {
+            byName.put(position.name(), position);
+        }
+        compatible(GK, GK);
+        compatible(RB, RB, RWB, CB);
+        compatible(RWB, RWB, RB, RM);
+        compatible(CB, CB, RB, LB);
+        compatible(LB, LB, LWB, CB);
+        compatible(LWB, LWB, LB, LM);
+        compatible(CDM, CDM, CM, CB);
+        compatible(CM, CM, CAM, CDM);
+        compatible(CAM, CAM, CM, CF);
+        compatible(RM, RM, RW, RWB);
+        compatible(LM, LM, LW, LWB);
+        compatible(RW, RW, RM, RF);
+        compatible(LW, LW, LM, LF);
+        compatible(CF, CF, ST, CAM);
+        compatible(ST, ST, CF);
+        compatible(RF, RF, RW, ST);
+        compatible(LF, LF, LW, ST);
+    }
+
+    Position(Position base) {
+        this.base = base != null ? base : this;
+        this.bit = 1L << ordinal();
+    }
+
+    private static void compatible(Position preferred, Position... positions) {
+        for (Position position : positions) {
+            preferred.compatibleMask |= position.bit;
+        }
+    }
+
+    /**
+     * EFFECTS: Returns the position with the given name (case-insensitive, surrounding spaces ignored),
+     * or null if there is no such position.
+     */
+    public static Position fromName(String name) {
+        if (name == null) {
+            return null;
+        }
+        Position position = byName.get(name);
+        return position != null ? position : byName.get(name.trim().toUpperCase());
+    }
+
+    /**
+     * EFFECTS: Returns the base position of a formation slot (LCB -> CB, RAM -> CAM, LST -> ST, ...),
+     * or this position if it is already a base position.
+     */
+    public Position getBase() {
+        return base;
+    }
+
+    /**
+     * EFFECTS: Returns true if a player preferring this position is compatible with playing at current.
+     * Formation-specific slots have no compatible positions of their own.
+     */
+    public boolean isCompatibleWith(Position current) {
+        return current != null && (compatibleMask & current.bit) != 0;
+    }
+}
@@ -0,0 +1,405 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Builds the best starting eleven for a formation from a pool of players without exceeding a budget.
+ * The search is a depth-first branch and bound over the formation's slots: any affordable player can fill
+ * any slot, with players whose preferred position is compatible tried first. Branches are cut only when even
+ * the cheapest completion breaks the budget or when an optimistic bound cannot beat the best lineup so far,
+ * and the search stops at a deadline, returning the best lineup found up to that point. On large pools each
+ * slot only considers the best few players of each position fit plus the cheapest few overall, so that
+ * setting up the search stays well inside the time budget; such a run is never reported as exhaustive.
+ */
+public class SquadOptimizer {
+
+    /**
+     * What the optimizer maximizes.
+     */
+    public enum Objective {
+        CHEMISTRY,
+        RATING
+    }
+
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+    private static final int CANDIDATES_PER_TIER = 64;
+
+    private final Objective objective;
+    private final long timeBudgetMillis;
+
+    /**
+     * EFFECTS: Creates an optimizer for the given objective that searches for at most timeBudgetMillis.
+     */
+    public SquadOptimizer(Objective objective, long timeBudgetMillis) {
+        this.objective = objective;
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * EFFECTS: Searches for the lineup of distinct players (by name) that fills every position of the
+     * formation, costs at most budget and maximizes the objective. The pool is not modified; the returned
+     * lineup holds copies of the chosen players placed at their slots.
+     */
+    public Result optimize(List<Player> pool, Formation formation, int budget) {
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        Search search = new Search(pool, formation.getChemistryEngine(), budget);
+        search.run(deadline);
+        return search.toResult(formation.getFormationType());
+    }
+
+    /**
+     * The best lineup found by an optimizer run.
+     */
+    public static class Result {
+        private final String formationType;
+        private final List<Player> lineup;
+        private final int score;
+        private final int totalPrice;
+        private final boolean exhaustive;
+        private final long nodesVisited;
+
+        Result(String formationType, List<Player> lineup, int score, int totalPrice, boolean exhaustive,
+                long nodesVisited) {
+            this.formationType = formationType;
+            this.lineup = lineup;
+            this.score = score;
+            this.totalPrice = totalPrice;
+            this.exhaustive = exhaustive;
+            this.nodesVisited = nodesVisited;
+        }
+
+        // EFFECTS: Returns true if a lineup within budget was found
+        public boolean isFound() {
+            return !lineup.isEmpty();
+        }
+
+        // EFFECTS: Returns true if the search finished before the deadline and considered every affordable
+        //          player for every slot, so the lineup is optimal
+        public boolean isExhaustive() {
+            return exhaustive;
+        }
+
+        public String getFormationType() {
+            return formationType;
+        }
+
+        public List<Player> getLineup() {
+            return Collections.unmodifiableList(lineup);
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getTotalPrice() {
+            return totalPrice;
+        }
+
+        public long getNodesVisited() {
+            return nodesVisited;
+        }
+
+        // EFFECTS: Returns a new team with the lineup as its starting eleven
+        public Team toTeam(String name) {
+            Team team = new Team(name, formationType);
+            for (Player player : lineup) {
+                team.addPlayer(player);
+            }
+            return team;
+        }
+    }
+
+    /**
+     * State of one optimizer run. Slots are searched most-constrained first; arrays indexed by depth
+     * refer to the slot at that position in the search order.
+     */
+    private class Search {
+        private final Player[] pool;
+        private final ChemistryEngine engine;
+        private final int budget;
+        private final int[] slotOrder;
+        private final int[] compatibleCounts;
+        private final int[][] candidates;
+        private final int[][] gains;
+        private final int[] minPriceFrom;
+        private final int[] boundFrom;
+        private final int[] nameIds;
+        private final boolean[] nameUsed;
+        private final Player[] lineup;
+        private final int[] chosen;
+        private final Comparator<Integer> byRating;
+        private final Comparator<Integer> byPrice;
+        private int[] bestChosen;
+        private int bestScore = Integer.MIN_VALUE;
+        private long deadline;
+        private long nodes;
+        private long evaluations;
+        private boolean timedOut;
+        private boolean truncated;
+
+        Search(List<Player> players, ChemistryEngine engine, int budget) {
+            this.pool = players.toArray(new Player[0]);
+            this.engine = engine;
+            this.budget = budget;
+            this.byRating = Comparator.comparingInt((Integer i) -> -pool[i].getRating())
+                    .thenComparingInt(i -> pool[i].getPrice()).thenComparingInt(i -> i);
+            this.byPrice = Comparator.comparingInt((Integer i) -> pool[i].getPrice()).thenComparingInt(i -> i);
+            int slots = engine.getSlotCount();
+            Map<Position, PriorityQueue<Integer>> bestByPosition = new HashMap<>();
+            Map<Position, Integer> countByPosition = new HashMap<>();
+            PriorityQueue<Integer> cheapest = new PriorityQueue<>(byPrice.reversed());
+            int affordable = 0;
+            for (int i = 0; i < pool.length; i++) {
+                if (pool[i].getPrice() <= budget) {
+                    Position preferred = pool[i].getPreferredPositionType();
+                    keepBest(bestByPosition.computeIfAbsent(preferred, p -> new PriorityQueue<>(byRating.reversed())),
+                            i, byRating);
+                    countByPosition.merge(preferred, 1, Integer::sum);
+                    keepBest(cheapest, i, byPrice);
+                    affordable++;
+                }
+            }
+            int[][] slotCandidates = new int[slots][];
+            this.compatibleCounts = new int[slots];
+            for (int slot = 0; slot < slots; slot++) {
+                slotCandidates[slot] = candidatesFor(slot, bestByPosition, countByPosition, cheapest);
+                truncated |= slotCandidates[slot].length < affordable;
+            }
+            this.slotOrder = orderByCompatibleCount(slots);
+            this.candidates = new int[slots][];
+            this.gains = new int[slots][];
+            for (int depth = 0; depth < slots; depth++) {
+                candidates[depth] = slotCandidates[slotOrder[depth]];
+                gains[depth] = positionGains(slotOrder[depth], candidates[depth]);
+            }
+            this.minPriceFrom = new int[slots + 1];
+            this.boundFrom = new int[slots + 1];
+            computeSuffixBounds();
+            this.nameIds = new int[pool.length];
+            this.nameUsed = new boolean[assignNameIds()];
+            this.lineup = engine.newLineup();
+            this.chosen = new int[slots];
+        }
+
+        // MODIFIES: best
+        // EFFECTS: Adds index to best, then drops the worst entry under order if best holds more than
+        //          CANDIDATES_PER_TIER players; best must be ordered worst first
+        private void keepBest(PriorityQueue<Integer> best, int index, Comparator<Integer> order) {
+            if (best.size() < CANDIDATES_PER_TIER || order.compare(index, best.peek()) < 0) {
+                best.add(index);
+                if (best.size() > CANDIDATES_PER_TIER) {
+                    best.poll();
+                }
+            }
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Returns the candidates for the slot, since anyone can play out of position: the highest rated
+        //          CANDIDATES_PER_TIER players at each level of position chemistry, taken from the best players of
+        //          every preferred position, plus the cheapest players so a lineup within budget stays reachable.
+        //          Players whose preferred position is compatible with the slot come first, then best first within
+        //          each group, so good lineups are found early and the bound prunes sooner.
+        private int[] candidatesFor(int slot, Map<Position, PriorityQueue<Integer>> bestByPosition,
+                Map<Position, Integer> countByPosition, PriorityQueue<Integer> cheapest) {
+            Position position = engine.getSlotPosition(slot);
+            List<List<Integer>> tiers = List.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            for (Map.Entry<Position, PriorityQueue<Integer>> entry : bestByPosition.entrySet()) {
+                int gain = ChemistryEngine.positionChemistry(entry.getKey(), position);
+                int tier = gain == ChemistryEngine.PREFERRED_POSITION_CHEMISTRY ? 0
+                        : gain > ChemistryEngine.WRONG_POSITION_CHEMISTRY ? 1 : 2;
+                if (tier < 2) {
+                    compatibleCounts[slot] += countByPosition.get(entry.getKey());
+                }
+                tiers.get(tier).addAll(entry.getValue());
+            }
+            Set<Integer> picked = new HashSet<>(cheapest);
+            for (List<Integer> tier : tiers) {
+                tier.sort(byRating);
+                picked.addAll(tier.subList(0, Math.min(CANDIDATES_PER_TIER, tier.size())));
+            }
+            List<Integer> result = new ArrayList<>(picked);
+            result.sort(Comparator.comparing((Integer i) -> positionGain(pool[i], position)
+                    == ChemistryEngine.WRONG_POSITION_CHEMISTRY)
+                    .thenComparing((a, b) -> compareCandidates(pool[a], pool[b], position))
+                    .thenComparingInt(i -> i));
+            return result.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // EFFECTS: Orders candidates by position chemistry, then rating, then price (ascending)
+        private int compareCandidates(Player a, Player b, Position position) {
+            int byPosition = Integer.compare(positionGain(b, position), positionGain(a, position));
+            if (byPosition != 0 && objective == Objective.CHEMISTRY) {
+                return byPosition;
+            }
+            int byRating = Integer.compare(b.getRating(), a.getRating());
+            return byRating != 0 ? byRating : Integer.compare(a.getPrice(), b.getPrice());
+        }
+
+        private int positionGain(Player player, Position position) {
+            return ChemistryEngine.positionChemistry(player.getPreferredPositionType(), position);
+        }
+
+        // EFFECTS: Returns the score each candidate adds on its own when placed in the slot
+        private int[] positionGains(int slot, int[] slotCandidates) {
+            Position position = engine.getSlotPosition(slot);
+            int[] result = new int[slotCandidates.length];
+            for (int k = 0; k < slotCandidates.length; k++) {
+                Player player = pool[slotCandidates[k]];
+                result[k] = objective == Objective.CHEMISTRY ? positionGain(player, position) : player.getRating();
+            }
+            return result;
+        }
+
+        // EFFECTS: Returns the slots ordered by how few players suit them, so the most constrained come first
+        private int[] orderByCompatibleCount(int slots) {
+            Integer[] order = new Integer[slots];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(compatibleCounts[a], compatibleCounts[b]));
+            return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        }
+
+        // MODIFIES: this
+        // EFFECTS: For every depth, records the cheapest possible completion of the remaining slots and an
+        //          upper bound on the score they can still add (best single gain per slot, plus the best
+        //          possible link on every edge that still has an open end when chemistry is the objective)
+        private void computeSuffixBounds() {
+            int slots = slotOrder.length;
+            boolean[] open = new boolean[slots];
+            for (int depth = slots - 1; depth >= 0; depth--) {
+                int slot = slotOrder[depth];
+                open[slot] = true;
+                int cheapest = Integer.MAX_VALUE;
+                int bestGain = Integer.MIN_VALUE;
+                for (int k = 0; k < candidates[depth].length; k++) {
+                    cheapest = Math.min(cheapest, pool[candidates[depth][k]].getPrice());
+                    bestGain = Math.max(bestGain, gains[depth][k]);
+                }
+                minPriceFrom[depth] = saturatedAdd(minPriceFrom[depth + 1], cheapest);
+                boundFrom[depth] = boundFrom[depth + 1] + (bestGain == Integer.MIN_VALUE ? 0 : bestGain)
+                        + linkBound(slot, open);
+            }
+        }
+
+        // EFFECTS: Returns the most link chemistry that edges from slot to slots filled before it can add; each
+        //          edge is scored when its later end is filled, so it is counted for that slot only
+        private int linkBound(int slot, boolean[] open) {
+            if (objective != Objective.CHEMISTRY) {
+                return 0;
+            }
+            int bound = 0;
+            for (int neighbour : engine.getNeighbours(slot)) {
+                if (!open[neighbour]) {
+                    bound += ChemistryEngine.SAME_CLUB_LINK;
+                }
+            }
+            return bound;
+        }
+
+        private int saturatedAdd(int a, int b) {
+            long sum = (long) a + b;
+            return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Maps each pool index to an id shared by players with the same name; returns the id count
+        private int assignNameIds() {
+            Map<String, Integer> ids = new HashMap<>();
+            for (int i = 0; i < pool.length; i++) {
+                String key = pool[i].getName().toLowerCase();
+                Integer id = ids.get(key);
+                if (id == null) {
+                    id = ids.size();
+                    ids.put(key, id);
+                }
+                nameIds[i] = id;
+            }
+            return ids.size();
+        }
+
+        void run(long deadlineNanos) {
+            this.deadline = deadlineNanos;
+            for (int[] slotCandidates : candidates) {
+                if (slotCandidates.length == 0) {
+                    return;
+                }
+            }
+            search(0, 0, 0);
+        }
+
+        // MODIFIES: this
+        // EFFECTS: Extends the partial lineup at the given depth, keeping the best complete lineup seen
+        private void search(int depth, int score, int price) {
+            if (timedOut) {
+                return;
+            }
+            nodes++;
+            if (depth == slotOrder.length) {
+                bestScore = score;
+                bestChosen = chosen.clone();
+                return;
+            }
+            int slot = slotOrder[depth];
+            for (int k = 0; k < candidates[depth].length && !timedOut; k++) {
+                if (++evaluations % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                    timedOut = true;
+                    break;
+                }
+                int index = candidates[depth][k];
+                Player player = pool[index];
+                if (nameUsed[nameIds[index]]
+                        || (long) price + player.getPrice() + minPriceFrom[depth + 1] > budget) {
+                    continue;
+                }
+                lineup[slot] = player;
+                int gain = gains[depth][k];
+                if (objective == Objective.CHEMISTRY) {
+                    gain += engine.slotLinkChemistry(lineup, slot);
+                }
+                if (score + gain + boundFrom[depth + 1] > bestScore) {
+                    descend(depth, index, score + gain, price + player.getPrice());
+                }
+                lineup[slot] = null;
+            }
+        }
+
+        private void descend(int depth, int index, int score, int price) {
+            nameUsed[nameIds[index]] = true;
+            chosen[depth] = index;
+            search(depth + 1, score, price);
+            nameUsed[nameIds[index]] = false;
+        }
+
+        Result toResult(String formationType) {
+            List<Player> placed = new ArrayList<>();
+            int totalPrice = 0;
+            if (bestChosen != null) {
+                for (int depth = 0; depth < slotOrder.length; depth++) {
+                    Player player = pool[bestChosen[depth]];
+                    placed.add(placeAt(player, engine.getSlotName(slotOrder[depth])));
+                    totalPrice += player.getPrice();
+                }
+            }
+            int score = bestChosen != null ? bestScore : 0;
+            return new Result(formationType, placed, score, totalPrice, !timedOut && !truncated, nodes);
+        }
+
+        // EFFECTS: Returns a copy of the player in the given position as a starter
+        private Player placeAt(Player p, String position) {
+            return new Player(p.getName(), p.getNationality(), p.getLeague(), p.getClubAffiliation(),
+                    p.getPreferredPosition(), position, p.getRating(), p.getPace(), p.getPassing(),
+                    p.getShooting(), p.getDribbling(), p.getDefending(), p.getPhysicality(), p.getSkillMoves(),
+                    p.getWeakFoot(), p.getPrice(), true);
+        }
+    }
+}
@@ -1,11 +1,10 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.json.JSONArray;
@@ -17,12 +16,27 @@ import org.json.JSONObject;
 public class Team {
 
     private List<Player> players;
-    private Map<String, Player> starting11 = new HashMap<>();
 
     private int likes;
     private boolean isListed;
     private String name;
     private Formation formation;
+    private ChemistryEngine chemistryEngine;
+    private Player[] lineup;
+    private int[] slotPositionChemistry;
+    private int starterCount;
+    private int liveChemistry;
+    private final List<TeamListener> listeners = new ArrayList<>();
+
+    // Aggregates maintained as players are added and removed
+    private int totalPrice;
+    private int totalRating;
+    private Map<String, Integer> playerNameCounts = new HashMap<>();
+    private Map<String, Integer> nationalityCounts = new HashMap<>();
+    private Map<String, Integer> leagueCounts = new HashMap<>();
+    private Map<String, Integer> clubCounts = new HashMap<>();
+    private List<Player> startingView;
+    private List<Player> substituteView;
 
     /**
      * MODIFIES: this
@@ -34,7 +48,11 @@ public class Team {
         this.isListed = false;
         this.name = name;
         this.formation = new Formation(formationType);
-        EventLog.getInstance().logEvent(new Event("Team " + name + " created with formation " + formationType));
+        this.chemistryEngine = formation.getChemistryEngine();
+        this.lineup = chemistryEngine.newLineup();
+        this.slotPositionChemistry = new int[lineup.length];
+        EventLog.getInstance().logEvent(EventLog.Category.TEAM,
+                () -> "Team " + name + " created with formation " + formationType);
     }
 
     /**
@@ -48,6 +66,7 @@ public class Team {
 
     public void setLikes(int likes) {
         this.likes = likes;
+        notifyLikesChanged();
     }
 
     /**
@@ -77,7 +96,11 @@ public class Team {
     public boolean addPlayer(Player player) {
         if (players.size() < 23 && !hasPlayer(player.getName())) {
             players.add(player);
-            EventLog.getInstance().logEvent(new Event("player added to team: " + player.getName()));
+            player.joinTeam(this);
+            countPlayer(player, 1);
+            EventLog.getInstance().logEvent(EventLog.Category.PLAYER,
+                    () -> "player added to team: " + player.getName());
+            notifyRosterChanged();
             if (player.isInStarting11()) {
                 boolean success = setPlayerInStarting11(player, true);
                 if (!success) {
@@ -95,83 +118,186 @@ public class Team {
     }
     
 
-    // Removes a player from the team
+    // Removes a player from the team, taking them out of the starting 11 first
     // EFFECTS: Returns true if the player was removed, false if the player was not found
     public boolean removePlayer(Player player) {
-        return players.remove(player);
+        if (!players.contains(player)) {
+            return false;
+        }
+        if (player.isInStarting11()) {
+            setPlayerInStarting11(player, false);
+        }
+        players.remove(player);
+        player.leaveTeam(this);
+        countPlayer(player, -1);
+        notifyRosterChanged();
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Adds (delta = 1) or removes (delta = -1) the player's contribution to the aggregates
+    private void countPlayer(Player player, int delta) {
+        totalPrice += delta * player.getPrice();
+        totalRating += delta * player.getRating();
+        count(playerNameCounts, player.getName(), delta);
+        count(nationalityCounts, player.getNationality(), delta);
+        count(leagueCounts, player.getLeague(), delta);
+        count(clubCounts, player.getClubAffiliation(), delta);
+        invalidateViews();
+    }
+
+    private static void count(Map<String, Integer> counts, String key, int delta) {
+        if (key != null) {
+            counts.merge(key.toLowerCase(), delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+    }
+
+    private void invalidateViews() {
+        startingView = null;
+        substituteView = null;
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Registers a listener to be told about changes to this team.
+     */
+    public void addListener(TeamListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Stops telling the listener about changes to this team.
+     */
+    public void removeListener(TeamListener listener) {
+        listeners.remove(listener);
+    }
+
+    private void notifyRosterChanged() {
+        for (TeamListener listener : listeners) {
+            listener.rosterChanged(this);
+        }
     }
 
-    @SuppressWarnings("methodlength")
-    // Sets the player's status in the starting 11
+    private void notifyLikesChanged() {
+        for (TeamListener listener : listeners) {
+            listener.likesChanged(this);
+        }
+    }
+
+    // Sets the player's status in the starting 11. A player placed into an occupied slot
+    // displaces its previous occupant to the substitutes.
     // EFFECTS: Returns true if operation was successful, false otherwise
     public boolean setPlayerInStarting11(Player player, boolean inStarting11) {
-        if (players.contains(player)) {
-            if (inStarting11) {
-                Set<String> requiredPositions = formation.getRequiredPositions().stream()
-                        .map(String::toUpperCase)
-                        .collect(Collectors.toSet());
-                String playerPosition = player.getCurrentPosition().toUpperCase();
-    
-                if (!requiredPositions.contains(playerPosition)) {
-                    // Player's position does not match the formation
-                    return false;
-                }
-                if (starting11.size() >= requiredPositions.size() && !player.isInStarting11()) {
-                    // Starting lineup is full
-                    return false;
-                } else {
-                    player.setInStarting11(true);
-                    starting11.put(playerPosition, player);
-                    return true;
-                }
-            } else {
-                player.setInStarting11(false);
-                starting11.remove(player.getCurrentPosition().toUpperCase());
-                return true;
-            }
-        } else {
+        if (!players.contains(player)) {
             // Player is not in the team
             return false;
         }
+        invalidateViews();
+        if (!inStarting11) {
+            player.setInStarting11(false);
+            clearSlotOf(player);
+            return true;
+        }
+        int slot = chemistryEngine.getSlotIndex(player.getCurrentPositionType());
+        if (slot < 0) {
+            // Player's position does not match the formation
+            return false;
+        }
+        if (starterCount >= lineup.length && !player.isInStarting11()) {
+            // Starting lineup is full
+            return false;
+        }
+        clearSlotOf(player);
+        Player displaced = lineup[slot];
+        if (displaced != null) {
+            displaced.setInStarting11(false);
+            vacateSlot(slot);
+        }
+        fillSlot(slot, player);
+        player.setInStarting11(true);
+        return true;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Empties the lineup slot currently held by the player, if any
+    private void clearSlotOf(Player player) {
+        for (int i = 0; i < lineup.length; i++) {
+            if (lineup[i] == player) {
+                vacateSlot(i);
+            }
+        }
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Places a starter whose position changed again, as setPlayerInStarting11 would, so the slot and
+    //          the running chemistry match a full recompute; a starter whose new position is not in the formation
+    //          moves to the substitutes. Does nothing for a player who is not in the lineup.
+    void positionChanged(Player player) {
+        for (int slot = 0; slot < lineup.length; slot++) {
+            if (lineup[slot] == player) {
+                vacateSlot(slot);
+                player.setInStarting11(false);
+                setPlayerInStarting11(player, true);
+                return;
+            }
+        }
+    }
+
+    // REQUIRES: lineup[slot] == null
+    // MODIFIES: this
+    // EFFECTS: Places the player in the slot and adds their position and link chemistry to the running total
+    private void fillSlot(int slot, Player player) {
+        lineup[slot] = player;
+        starterCount++;
+        slotPositionChemistry[slot] = player.getPositionChemistry();
+        liveChemistry += slotPositionChemistry[slot] + chemistryEngine.slotLinkChemistry(lineup, slot);
+    }
+
+    // REQUIRES: lineup[slot] != null
+    // MODIFIES: this
+    // EFFECTS: Removes the slot's chemistry from the running total and empties the slot
+    private void vacateSlot(int slot) {
+        liveChemistry -= slotPositionChemistry[slot] + chemistryEngine.slotLinkChemistry(lineup, slot);
+        lineup[slot] = null;
+        starterCount--;
     }
     
-    // EFFECTS: Returns a list of players in the starting 11
+    // EFFECTS: Returns an unmodifiable list of players in the starting 11, in roster order.
+    // The list is cached until the roster or lineup changes.
     public List<Player> getStartingPlayers() {
-        return players.stream()
-                .filter(Player::isInStarting11)
-                .collect(Collectors.toList());
+        if (startingView == null) {
+            startingView = Collections.unmodifiableList(players.stream()
+                    .filter(Player::isInStarting11)
+                    .collect(Collectors.toList()));
+        }
+        return startingView;
     }
 
-    // EFFECTS: Returns a list of substitutes and reserves (not in starting 11)
+    // EFFECTS: Returns an unmodifiable list of substitutes and reserves (not in starting 11), in roster order.
+    // The list is cached until the roster or lineup changes.
     public List<Player> getSubstitutes() {
-        return players.stream()
-                .filter(p -> !p.isInStarting11())
-                .collect(Collectors.toList());
+        if (substituteView == null) {
+            substituteView = Collections.unmodifiableList(players.stream()
+                    .filter(p -> !p.isInStarting11())
+                    .collect(Collectors.toList()));
+        }
+        return substituteView;
+    }
+
+    // EFFECTS: Returns the number of players in the starting 11
+    public int getStartingPlayerCount() {
+        return starterCount;
     }
 
+    // EFFECTS: Returns true if every position required by the formation has a starter
     public boolean isStartingLineupComplete() {
-        Set<String> requiredPositions = formation.getRequiredPositions().stream()
-                .map(String::toUpperCase)
-                .collect(Collectors.toSet());
-        Set<String> startingPositions = starting11.keySet().stream()
-                .map(String::toUpperCase)
-                .collect(Collectors.toSet());
-    
-   
-    
-        boolean isComplete = startingPositions.containsAll(requiredPositions);
-       
-    
-        return isComplete;
+        return starterCount == lineup.length;
     }
-    
-    
 
     // EFFECTS: Returns the total price of all players in the team
     public int getTotalPrice() {
-        return players.stream()
-                .mapToInt(Player::getPrice)
-                .sum();
+        return totalPrice;
     }
 
     // EFFECTS: Returns the average rating of all players in the team
@@ -179,10 +305,22 @@ public class Team {
         if (players.isEmpty()) {
             return 0.0;
         }
-        return players.stream()
-                .mapToInt(Player::getRating)
-                .average()
-                .orElse(0.0);
+        return (double) totalRating / players.size();
+    }
+
+    // EFFECTS: Returns how many players in the team are from the given nation (case-insensitive)
+    public int getNationalityCount(String nationality) {
+        return nationality == null ? 0 : nationalityCounts.getOrDefault(nationality.toLowerCase(), 0);
+    }
+
+    // EFFECTS: Returns how many players in the team play in the given league (case-insensitive)
+    public int getLeagueCount(String league) {
+        return league == null ? 0 : leagueCounts.getOrDefault(league.toLowerCase(), 0);
+    }
+
+    // EFFECTS: Returns how many players in the team play for the given club (case-insensitive)
+    public int getClubCount(String club) {
+        return club == null ? 0 : clubCounts.getOrDefault(club.toLowerCase(), 0);
     }
 
     /**
@@ -191,6 +329,7 @@ public class Team {
      */
     public void likeTeam() {
         likes++;
+        notifyLikesChanged();
     }
 
     /**
@@ -202,12 +341,7 @@ public class Team {
      * otherwise, returns false.
      */
     public boolean hasPlayer(String playerName) {
-        for (Player player : players) {
-            if (player.getName().equalsIgnoreCase(playerName)) {
-                return true;
-            }
-        }
-        return false;
+        return playerNameCounts.containsKey(playerName.toLowerCase());
     }
 
     /**
@@ -224,84 +358,15 @@ public class Team {
         return new ArrayList<>(players);
     }
 
-    // EFFECTS: Returns the total chemistry of the team
+    // EFFECTS: Returns the total chemistry of the team, or 0 if the starting lineup is incomplete
     public int calculateChemistry() {
-        List<Player> startingPlayers = getStartingPlayers();
-        if (!isStartingLineupComplete()) {
-            // Starting lineup is incomplete
-            return 0; // Or handle this case as per your application's requirements
-        }
-
-        int chemistry = 0;
-
-        // Position chemistry
-        for (Player player : startingPlayers) {
-            if (player.isInPreferredPosition()) {
-                chemistry += 5; // Full chemistry for correct position
-            } else if (player.isPositionCompatible()) {
-                chemistry += 2; // Partial chemistry for compatible position
-            } else {
-                chemistry -= 3; // Penalty for incorrect position
-            }
-        }
-
-        // Link chemistry between players
-        chemistry += calculateLinkChemistry(startingPlayers);
-
-        return chemistry;
-    }
-
-    // Helper method to calculate link chemistry between starting players
-    private int calculateLinkChemistry(List<Player> startingPlayers) {
-        int linkChemistry = 0;
-        Set<String> processedPairs = new HashSet<>();
-
-        for (Player player : startingPlayers) {
-            List<String> linkedPositions = formation.getLinkedPositions(player.getCurrentPosition());
-            for (String linkedPosition : linkedPositions) {
-                Player linkedPlayer = getPlayerByPosition(linkedPosition, startingPlayers);
-                if (linkedPlayer != null) {
-                    String pairKey = generatePairKey(player, linkedPlayer);
-                    if (!processedPairs.contains(pairKey)) {
-                        linkChemistry += calculateLinkChemistryBetweenPlayers(player, linkedPlayer);
-                        processedPairs.add(pairKey);
-                    }
-                }
-            }
-        }
-        return linkChemistry;
+        return isStartingLineupComplete() ? liveChemistry : 0;
     }
 
-    // Helper method to get a player by position from the starting players
-    private Player getPlayerByPosition(String position, List<Player> startingPlayers) {
-        for (Player player : startingPlayers) {
-            if (player.getCurrentPosition().equalsIgnoreCase(position)) {
-                return player;
-            }
-        }
-        return null;
-    }
-
-    // Helper method to generate a unique key for a pair of players
-    private String generatePairKey(Player p1, Player p2) {
-        String name1 = p1.getName();
-        String name2 = p2.getName();
-        return name1.compareTo(name2) < 0 ? name1 + "-" + name2 : name2 + "-" + name1;
-    }
-
-    // EFFECTS: Calculates chemistry between two players based on shared attributes
-    private int calculateLinkChemistryBetweenPlayers(Player p1, Player p2) {
-        int linkChemistry = 0;
-        if (p1.getClubAffiliation().equalsIgnoreCase(p2.getClubAffiliation())) {
-            linkChemistry += 3;
-        } else if (p1.getNationality().equalsIgnoreCase(p2.getNationality())
-                && p1.getLeague().equalsIgnoreCase(p2.getLeague())) {
-            linkChemistry += 2;
-        } else if (p1.getNationality().equalsIgnoreCase(p2.getNationality())
-                || p1.getLeague().equalsIgnoreCase(p2.getLeague())) {
-            linkChemistry += 1;
-        }
-        return linkChemistry;
+    // EFFECTS: Returns the chemistry of the starters placed so far, even if the lineup is incomplete.
+    // The total is maintained as slots are filled and emptied, so reading it is O(1).
+    public int getLiveChemistry() {
+        return liveChemistry;
     }
 
     public boolean isComplete() {
@@ -330,7 +395,21 @@ public class Team {
         return formation;
     }
 
+    // MODIFIES: this
+    // EFFECTS: Changes the formation, keeping the starters whose positions exist in the new one
     public void setFormation(String formationType) {
         this.formation = new Formation(formationType);
+        this.chemistryEngine = formation.getChemistryEngine();
+        Player[] previous = lineup;
+        this.lineup = chemistryEngine.newLineup();
+        this.slotPositionChemistry = new int[lineup.length];
+        this.starterCount = 0;
+        this.liveChemistry = 0;
+        for (Player player : previous) {
+            if (player != null) {
+                player.setInStarting11(false);
+                setPlayerInStarting11(player, true);
+            }
+        }
     }
 }
@@ -0,0 +1,17 @@
+package model;
+
+/**
+ * Receives notifications when a team changes in ways that affect how it is indexed.
+ */
+public interface TeamListener {
+
+    /**
+     * EFFECTS: Called after a player has been added to or removed from the team.
+     */
+    void rosterChanged(Team team);
+
+    /**
+     * EFFECTS: Called after the team's number of likes has changed.
+     */
+    void likesChanged(Team team);
+}
@@ -1,16 +1,30 @@
-
-
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Stores and manages all the teams created by users.
+ * Listed teams are indexed by player name, total price and average rating as they are added, so
+ * searches walk only the matching part of an index instead of scanning every community team.
  */
-public class TeamRepository {
+public class TeamRepository implements TeamListener {
 
     private List<Team> communityTeams;
+    private Map<Team, IndexEntry> entries;
+    private Map<String, Set<IndexEntry>> playerIndex;
+    private NavigableSet<IndexEntry> priceIndex;
+    private NavigableSet<IndexEntry> ratingIndex;
+    private PopularityLeaderboard leaderboard;
+    private long nextSequence;
 
     /**
      * MODIFIES: this
@@ -18,22 +32,77 @@ public class TeamRepository {
      */
     public TeamRepository() {
         this.communityTeams = new ArrayList<>();
+        this.entries = new HashMap<>();
+        this.playerIndex = new HashMap<>();
+        this.priceIndex = new TreeSet<>(Comparator.comparingInt((IndexEntry e) -> e.price)
+                .thenComparingLong(e -> e.sequence));
+        this.ratingIndex = new TreeSet<>(Comparator.comparingDouble((IndexEntry e) -> e.rating)
+                .thenComparingLong(e -> e.sequence));
+        this.leaderboard = new PopularityLeaderboard();
     }
 
     /**
      * EFFECTS: Adds a team to the community repository if it is listed.
+     * A team that is already in the community is not added again.
      *
      * @param team the team to add
      */
     public void addTeamToCommunity(Team team) {
-        if (team != null && team.isListed() && team.isComplete()) {
+        if (team != null && team.isListed() && team.isComplete() && !entries.containsKey(team)) {
             communityTeams.add(team);
+            IndexEntry entry = new IndexEntry(team, nextSequence++);
+            entries.put(team, entry);
+            index(entry);
+            leaderboard.add(team);
+            team.addListener(this);
+
+            EventLog.getInstance().logEvent(EventLog.Category.COMMUNITY,
+                    () -> "team added to community: " + team.getName());
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Re-indexes a community team after its roster changed.
+     */
+    @Override
+    public void rosterChanged(Team team) {
+        IndexEntry entry = entries.get(team);
+        if (entry != null) {
+            unindex(entry);
+            entry.refresh();
+            index(entry);
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Moves a community team to its new place on the popularity leaderboard.
+     */
+    @Override
+    public void likesChanged(Team team) {
+        leaderboard.update(team);
+    }
 
-            EventLog.getInstance().logEvent(new Event("team added to community: " + team.getName()));
+    private void index(IndexEntry entry) {
+        for (String playerName : entry.playerNames) {
+            playerIndex.computeIfAbsent(playerName, k -> new HashSet<>()).add(entry);
+        }
+        priceIndex.add(entry);
+        ratingIndex.add(entry);
+    }
+
+    private void unindex(IndexEntry entry) {
+        for (String playerName : entry.playerNames) {
+            Set<IndexEntry> teams = playerIndex.get(playerName);
+            teams.remove(entry);
+            if (teams.isEmpty()) {
+                playerIndex.remove(playerName);
+            }
         }
+        priceIndex.remove(entry);
+        ratingIndex.remove(entry);
     }
-    
-    
 
     /**
      * EFFECTS: Returns a list of all community teams.
@@ -49,23 +118,30 @@ public class TeamRepository {
      * @return list of teams within the budget
      */
     public List<Team> searchTeamsByBudget(int budget) {
-        List<Team> result = new ArrayList<>();
-        for (Team t : communityTeams) {
-            if (t.getTotalPrice() <= budget) {
-                result.add(t);
-            }
-        }
-        return result;
+        return inListingOrder(withinBudget(budget));
     }
 
     /**
-     * EFFECTS: Returns community teams sorted by likes in descending order.
+     * EFFECTS: Returns community teams sorted by likes in descending order; teams with equal likes
+     * keep the order they were listed in.
      *
      * @return list of teams sorted by popularity
      */
     public List<Team> getTeamsByPopularity() {
-        communityTeams.sort((t1, t2) -> t2.getLikes() - t1.getLikes());
-        return new ArrayList<>(communityTeams);
+        return leaderboard.page(0, leaderboard.size());
+    }
+
+    /**
+     * REQUIRES: offset >= 0, limit >= 0
+     * EFFECTS: Returns one page of community teams sorted by likes in descending order, starting at the
+     * given rank. Costs O(log n + limit) rather than sorting the whole community.
+     *
+     * @param offset rank of the first team to return (0 is the most liked)
+     * @param limit  the maximum number of teams to return
+     * @return the teams ranked offset to offset + limit - 1
+     */
+    public List<Team> getTeamsByPopularity(int offset, int limit) {
+        return leaderboard.page(offset, limit);
     }
 
     /**
@@ -73,30 +149,85 @@ public class TeamRepository {
      * Returns a list of community teams that satisfy the following conditions:
      * - The team's total price is less than or equal to the given budget.
      * - The team's average rating is greater than or equal to minAverageRating.
-     * - The team's chemistry is greater than or equal to the given chemistry value.
      * - The team contains a player whose name matches desiredPlayerName (case-insensitive).
+     * Teams are returned in the order they were listed. The search starts from the most selective
+     * index (the player's teams when a name is given, otherwise the price or rating range) and checks
+     * the remaining conditions against the indexed values.
      *
      * @param budget            the maximum budget
      * @param minAverageRating  the minimum average rating
-     * @param chemistry         the minimum chemistry
-     * @param desiredPlayerName the desired player name (can be partial or empty)
+     * @param desiredPlayerName the desired player name (can be empty)
      * @return list of matching teams
      */
     public List<Team> searchTeams(int budget, double minAverageRating, String desiredPlayerName) {
-        List<Team> result = new ArrayList<>();
-        for (Team team : communityTeams) {
-            boolean matchesBudget = team.getTotalPrice() <= budget;
-            boolean matchesRating = team.getAverageRating() >= minAverageRating;
-            boolean matchesPlayer = desiredPlayerName == null || desiredPlayerName.isEmpty()
-                    || team.hasPlayer(desiredPlayerName);
-    
-           
-    
-            if (matchesBudget && matchesRating && matchesPlayer) {
-                result.add(team);
+        Iterable<IndexEntry> candidates;
+        if (desiredPlayerName != null && !desiredPlayerName.isEmpty()) {
+            candidates = playerIndex.getOrDefault(desiredPlayerName.toLowerCase(), Collections.emptySet());
+        } else if (budget == Integer.MAX_VALUE) {
+            candidates = atLeastRating(minAverageRating);
+        } else {
+            candidates = withinBudget(budget);
+        }
+        List<IndexEntry> result = new ArrayList<>();
+        for (IndexEntry entry : candidates) {
+            if (entry.price <= budget && entry.rating >= minAverageRating) {
+                result.add(entry);
             }
         }
+        return inListingOrder(result);
+    }
+
+    private Set<IndexEntry> withinBudget(int budget) {
+        return priceIndex.headSet(IndexEntry.probe(budget, 0.0, Long.MAX_VALUE), true);
+    }
+
+    private Set<IndexEntry> atLeastRating(double minAverageRating) {
+        return ratingIndex.tailSet(IndexEntry.probe(0, minAverageRating, Long.MIN_VALUE), true);
+    }
+
+    private List<Team> inListingOrder(Iterable<IndexEntry> matches) {
+        List<IndexEntry> sorted = new ArrayList<>();
+        matches.forEach(sorted::add);
+        sorted.sort(Comparator.comparingLong(e -> e.sequence));
+        List<Team> result = new ArrayList<>();
+        for (IndexEntry entry : sorted) {
+            result.add(entry.team);
+        }
         return result;
     }
-    
+
+    /**
+     * The indexed values of one community team, captured when it was listed or its roster last changed.
+     */
+    private static class IndexEntry {
+        private final Team team;
+        private final long sequence;
+        private int price;
+        private double rating;
+        private Set<String> playerNames;
+
+        IndexEntry(Team team, long sequence) {
+            this.team = team;
+            this.sequence = sequence;
+            if (team != null) {
+                refresh();
+            }
+        }
+
+        static IndexEntry probe(int price, double rating, long sequence) {
+            IndexEntry probe = new IndexEntry(null, sequence);
+            probe.price = price;
+            probe.rating = rating;
+            return probe;
+        }
+
+        void refresh() {
+            price = team.getTotalPrice();
+            rating = team.getAverageRating();
+            playerNames = new HashSet<>();
+            for (Player player : team.getPlayers()) {
+                playerNames.add(player.getName().toLowerCase());
+            }
+        }
+    }
 }
@@ -3,26 +3,65 @@
 
 package model;
 
+import persistence.CredentialsReader;
 import persistence.JsonReader;
 import persistence.JsonWriter;
+import persistence.UserJournal;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manages user signup and login.
+ * Users are persisted as a snapshot file. When the journal is open, individual changes are appended to
+ * it instead, and once enough have built up they are compacted into a new snapshot.
+ * loginAsync and signUpAsync hash passwords on a bounded pool of worker threads, so callers such as the
+ * Swing event thread never wait for PBKDF2.
  */
 public class UserManager {
     private Map<String, User> users;
     private static final String USERS_FILE = "./data/users.json";
+    private static final String JOURNAL_FILE = "./data/users.journal";
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 500;
+    private static final int AUTH_QUEUE_CAPACITY = 256;
+    private final String usersFile;
+    private final String journalFile;
+    private final int compactionThreshold;
+    private UserJournal journal;
+    private Map<Team, User> owners;
+    private long lastSaveDurationNanos;
+    private long totalSaveDurationNanos;
+    private int saveCount;
+    private AuthExecutor authExecutor;
 
     /**
-     * EFFECTS: Initializes an empty user manager.
+     * EFFECTS: Initializes an empty user manager backed by the default data files.
      */
     public UserManager() {
-        users = new HashMap<>();
+        this(USERS_FILE, JOURNAL_FILE, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * REQUIRES: compactionThreshold > 0
+     * EFFECTS: Initializes an empty user manager backed by the given snapshot and journal files; the journal
+     * is compacted into the snapshot once it holds compactionThreshold records.
+     */
+    public UserManager(String usersFile, String journalFile, int compactionThreshold) {
+        this.users = new ConcurrentHashMap<>();
+        this.owners = new HashMap<>();
+        this.usersFile = usersFile;
+        this.journalFile = journalFile;
+        this.compactionThreshold = compactionThreshold;
     }
 
     /**
@@ -37,11 +76,111 @@ public class UserManager {
         if (users.containsKey(username)) {
             throw new IllegalArgumentException("Username already taken.");
         }
-        User user = new User(username, PasswordUtils.hashPassword(password), null);
-        users.put(username, user);
+        return addNewUser(username, PasswordUtils.hashPassword(password));
+    }
+
+    // EFFECTS: Adds a user with the given password hash unless another user took the username meanwhile
+    private User addNewUser(String username, String passwordHash) {
+        User user = new User(username, passwordHash, null);
+        if (users.putIfAbsent(username, user) != null) {
+            throw new IllegalArgumentException("Username already taken.");
+        }
         return user;
     }
 
+    /**
+     * EFFECTS: Signs up a new user like signUp, hashing the password on a worker thread. The returned future
+     * fails with an IllegalArgumentException if the username is taken, or an IllegalStateException if too
+     * many logins and sign-ups are already waiting.
+     *
+     * @param username the desired username
+     * @param password the desired password
+     * @return a future for the created User object
+     */
+    public CompletableFuture<User> signUpAsync(String username, String password) {
+        if (users.containsKey(username)) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Username already taken."));
+        }
+        return authExecutor().submit(() -> addNewUser(username, PasswordUtils.hashPassword(password)));
+    }
+
+    /**
+     * EFFECTS: Logs in a user like login, checking the password on a worker thread. The returned future
+     * fails with an IllegalArgumentException if login fails, or an IllegalStateException if too many logins
+     * and sign-ups are already waiting.
+     *
+     * @param username the username
+     * @param password the password
+     * @return a future for the User object
+     */
+    public CompletableFuture<User> loginAsync(String username, String password) {
+        User user = users.get(username);
+        if (user == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("User does not exist."));
+        }
+        return authExecutor().submit(() -> {
+            if (user.checkPassword(password)) {
+                return user;
+            }
+            throw new IllegalArgumentException("Incorrect password.");
+        });
+    }
+
+    // EFFECTS: Returns the auth executor if an async login or sign-up has created it, null otherwise
+    private synchronized AuthExecutor existingAuthExecutor() {
+        return authExecutor;
+    }
+
+    private synchronized AuthExecutor authExecutor() {
+        if (authExecutor == null) {
+            authExecutor = new AuthExecutor(Runtime.getRuntime().availableProcessors(), AUTH_QUEUE_CAPACITY);
+        }
+        return authExecutor;
+    }
+
+    /**
+     * EFFECTS: Returns the number of async logins and sign-ups waiting for a worker thread. Like the other auth
+     * metrics, reading it never starts the worker pool; it is 0 until the first async login or sign-up.
+     */
+    public int getAuthQueueDepth() {
+        AuthExecutor executor = existingAuthExecutor();
+        return executor == null ? 0 : executor.getQueueDepth();
+    }
+
+    /**
+     * EFFECTS: Returns the number of async logins and sign-ups completed so far, successfully or not.
+     */
+    public long getAuthCount() {
+        AuthExecutor executor = existingAuthExecutor();
+        return executor == null ? 0 : executor.getCompletedCount();
+    }
+
+    /**
+     * EFFECTS: Returns the number of async logins and sign-ups turned away because too many were waiting.
+     */
+    public long getRejectedAuthCount() {
+        AuthExecutor executor = existingAuthExecutor();
+        return executor == null ? 0 : executor.getRejectedCount();
+    }
+
+    /**
+     * EFFECTS: Returns how long the most recent async login or sign-up took, including time spent queued,
+     * in milliseconds.
+     */
+    public double getLastAuthLatencyMillis() {
+        AuthExecutor executor = existingAuthExecutor();
+        return executor == null ? 0.0 : executor.getLastLatencyMillis();
+    }
+
+    /**
+     * EFFECTS: Returns the average time async logins and sign-ups took, including time spent queued,
+     * in milliseconds.
+     */
+    public double getAverageAuthLatencyMillis() {
+        AuthExecutor executor = existingAuthExecutor();
+        return executor == null ? 0.0 : executor.getAverageLatencyMillis();
+    }
+
     /**
      * EFFECTS: Logs in a user if the username and password are correct.
      *
@@ -62,6 +201,95 @@ public class UserManager {
         }
     }
 
+    /**
+     * MODIFIES: this
+     * EFFECTS: Signs up every username/password pair in a CSV or JSON file (see CredentialsReader) with
+     * importUsers.
+     *
+     * @param source the file of username/password pairs
+     * @return the report of the import
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file is malformed or any username cannot be signed up
+     */
+    public ImportReport importUsers(String source) throws IOException {
+        long start = System.nanoTime();
+        List<Map.Entry<String, String>> credentials = new CredentialsReader(source).read();
+        return importUsers(credentials, System.nanoTime() - start);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Signs up a user for every username/password pair. Every username is checked before any
+     * password is hashed: if one is empty, repeated or already taken, nothing is imported. Passwords are
+     * then hashed in parallel on all cores and the users are added all at once; if a concurrent sign-up took
+     * one of the names in the meantime, the users added so far are removed again and nothing is imported.
+     * Finally the users are written to disk in a single save. If that save fails, the report says so but
+     * the imported users stay signed up in memory and are written by the next successful save.
+     *
+     * @param credentials the username/password pairs
+     * @return the report of the import
+     * @throws IllegalArgumentException if any username cannot be signed up
+     */
+    public ImportReport importUsers(List<Map.Entry<String, String>> credentials) {
+        return importUsers(credentials, 0);
+    }
+
+    private ImportReport importUsers(List<Map.Entry<String, String>> credentials, long readNanos) {
+        long start = System.nanoTime();
+        validateImport(credentials);
+        long validated = System.nanoTime();
+        String[] hashes = new String[credentials.size()];
+        IntStream.range(0, hashes.length).parallel()
+                .forEach(i -> hashes[i] = PasswordUtils.hashPassword(credentials.get(i).getValue()));
+        addAllNewUsers(credentials, hashes);
+        long hashed = System.nanoTime();
+        boolean saved = compact();
+        ImportReport report = new ImportReport(hashes.length, saved, readNanos, validated - start,
+                hashed - validated, System.nanoTime() - hashed);
+        EventLog.getInstance().logEvent(EventLog.Category.PERSISTENCE, report::toString);
+        return report;
+    }
+
+    // MODIFIES: this
+    // EFFECTS: Adds a user for every pair with the matching hash. If a username has been taken since the
+    //          import was validated, removes the users added so far and throws IllegalArgumentException.
+    void addAllNewUsers(List<Map.Entry<String, String>> credentials, String[] hashes) {
+        List<User> added = new ArrayList<>(hashes.length);
+        for (int i = 0; i < hashes.length; i++) {
+            User user = new User(credentials.get(i).getKey(), hashes[i], null);
+            if (users.putIfAbsent(user.getUsername(), user) != null) {
+                for (User addedUser : added) {
+                    users.remove(addedUser.getUsername(), addedUser);
+                }
+                throw new IllegalArgumentException("Import rejected: username taken during import: "
+                        + user.getUsername());
+            }
+            added.add(user);
+        }
+    }
+
+    // EFFECTS: Throws IllegalArgumentException naming every username that is empty, repeated or taken,
+    //          or whose password is empty
+    private void validateImport(List<Map.Entry<String, String>> credentials) {
+        Set<String> seen = new HashSet<>();
+        Set<String> duplicates = new TreeSet<>();
+        List<String> problems = new ArrayList<>();
+        for (Map.Entry<String, String> entry : credentials) {
+            String username = entry.getKey();
+            if (username.isEmpty() || entry.getValue().isEmpty()) {
+                problems.add("empty username or password" + (username.isEmpty() ? "" : " for " + username));
+            } else if (!seen.add(username) || users.containsKey(username)) {
+                duplicates.add(username);
+            }
+        }
+        if (!duplicates.isEmpty()) {
+            problems.add("usernames already taken or repeated: " + String.join(", ", duplicates));
+        }
+        if (!problems.isEmpty()) {
+            throw new IllegalArgumentException("Import rejected: " + String.join("; ", problems));
+        }
+    }
+
     /**
      * EFFECTS: Adds a user to the manager.
      *
@@ -71,7 +299,12 @@ public class UserManager {
         users.put(user.getUsername(), user);
     }
 
-    
+    /**
+     * EFFECTS: Returns the user with the given username, or null if there is none.
+     */
+    public User getUser(String username) {
+        return users.get(username);
+    }
 
     /**
      * EFFECTS: Returns a collection of all users.
@@ -83,26 +316,65 @@ public class UserManager {
     }
 
     /**
-     * EFFECTS: Saves all users to a JSON file.
+     * EFFECTS: Saves all users to a JSON file. The new contents are written to a temporary file, forced
+     * to disk and atomically moved over the old file, so a failed save leaves the previous file intact.
+     * Saves are serialized, since imports, authentication workers and the UI may all save at once.
+     *
+     * @return true if the users were saved, false if the save failed
      */
-    public void saveUsers() {
-        JsonWriter writer = new JsonWriter(USERS_FILE);
+    public synchronized boolean saveUsers() {
+        long start = System.nanoTime();
+        JsonWriter writer = new JsonWriter(usersFile);
         try {
             writer.open();
+        } catch (IOException e) {
+            System.out.println("Error saving users to file: " + e.getMessage());
+            return false;
+        }
+        try {
             writer.writeAllUsers(users.values());
             writer.close();
-          
         } catch (IOException e) {
-            System.out.println("Error saving users to file.");
-           
+            writer.abort();
+            System.out.println("Error saving users to file: " + e.getMessage());
+            return false;
         }
+        recordSave(System.nanoTime() - start);
+        return true;
+    }
+
+    private void recordSave(long durationNanos) {
+        lastSaveDurationNanos = durationNanos;
+        totalSaveDurationNanos += durationNanos;
+        saveCount++;
+    }
+
+    /**
+     * EFFECTS: Returns how long the most recent successful save took, in milliseconds.
+     */
+    public synchronized double getLastSaveDurationMillis() {
+        return lastSaveDurationNanos / 1_000_000.0;
+    }
+
+    /**
+     * EFFECTS: Returns the average duration of all successful saves so far, in milliseconds.
+     */
+    public synchronized double getAverageSaveDurationMillis() {
+        return saveCount == 0 ? 0.0 : totalSaveDurationNanos / 1_000_000.0 / saveCount;
+    }
+
+    /**
+     * EFFECTS: Returns the number of successful saves so far.
+     */
+    public synchronized int getSaveCount() {
+        return saveCount;
     }
 
     /**
      * EFFECTS: Loads users from a JSON file.
      */
     public void loadUsers() {
-        JsonReader reader = new JsonReader(USERS_FILE);
+        JsonReader reader = new JsonReader(usersFile);
         try {
             UserManager loadedManager = reader.read();
             this.users = loadedManager.users;
@@ -112,4 +384,159 @@ public class UserManager {
            
         }
     }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Applies any changes journaled since the last snapshot, then opens the journal so later
+     * changes recorded through this manager are appended to it.
+     *
+     * @return true if the journal was opened, false if it could not be read or opened
+     */
+    public boolean openJournal() {
+        UserJournal opened = new UserJournal(journalFile);
+        try {
+            int replayed = opened.replay(this);
+            opened.open();
+            journal = opened;
+            owners.clear();
+            EventLog.getInstance().logEvent(EventLog.Category.PERSISTENCE,
+                    () -> "replayed " + replayed + " journal records");
+            return true;
+        } catch (IOException e) {
+            System.out.println("Error opening journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Compacts the journal into a snapshot and closes it; changes are no longer journaled.
+     *
+     * @return true if the final snapshot was saved
+     */
+    public boolean closeJournal() {
+        if (journal == null) {
+            return true;
+        }
+        boolean saved = compact();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Error closing journal: " + e.getMessage());
+        }
+        journal = null;
+        return saved;
+    }
+
+    /**
+     * EFFECTS: Returns the number of changes journaled since the last snapshot.
+     */
+    public int getJournalSize() {
+        return journal == null ? 0 : journal.getRecordCount();
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Saves a snapshot of all users and, once it is safely on disk, empties the journal.
+     *
+     * @return true if the snapshot was saved
+     */
+    public synchronized boolean compact() {
+        if (!saveUsers()) {
+            return false;
+        }
+        if (journal != null) {
+            try {
+                journal.truncate();
+            } catch (IOException e) {
+                // The snapshot already holds every change and replaying the journal again is harmless
+                System.out.println("Error truncating journal: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * EFFECTS: Journals that the user signed up. Saves a full snapshot instead if the journal is not open.
+     *
+     * @return true if the change was recorded
+     */
+    public boolean recordSignUp(User user) {
+        return record(() -> journal.appendSignUp(user));
+    }
+
+    /**
+     * EFFECTS: Journals that the user created the team. Saves a full snapshot instead if the journal is not open.
+     *
+     * @return true if the change was recorded
+     */
+    public boolean recordTeamCreated(User user, Team team) {
+        owners.put(team, user);
+        return record(() -> journal.appendTeamCreated(user, team));
+    }
+
+    /**
+     * EFFECTS: Journals that the player was added to the user's team. Saves a full snapshot instead if the
+     * journal is not open.
+     *
+     * @return true if the change was recorded
+     */
+    public boolean recordPlayerAdded(User user, Team team, Player player) {
+        return record(() -> journal.appendPlayerAdded(user, team, player));
+    }
+
+    /**
+     * EFFECTS: Journals that the user's team was listed in the community. Saves a full snapshot instead if
+     * the journal is not open.
+     *
+     * @return true if the change was recorded
+     */
+    public boolean recordTeamListed(User user, Team team) {
+        return record(() -> journal.appendTeamListed(user, team));
+    }
+
+    /**
+     * EFFECTS: Journals the team's current like count. Saves a full snapshot instead if the journal is not
+     * open; does nothing if the team does not belong to any user.
+     *
+     * @return true if the change was recorded
+     */
+    public boolean recordLikes(Team team) {
+        User owner = ownerOf(team);
+        return owner == null || record(() -> journal.appendLikes(owner, team));
+    }
+
+    // EFFECTS: Returns the user that owns the team, or null if no user does
+    private User ownerOf(Team team) {
+        User owner = owners.get(team);
+        if (owner == null) {
+            owners.clear();
+            for (User user : users.values()) {
+                for (Team userTeam : user.getTeams()) {
+                    owners.put(userTeam, user);
+                }
+            }
+            owner = owners.get(team);
+        }
+        return owner;
+    }
+
+    // EFFECTS: Appends one record, compacting once the journal is large enough; without a journal, saves
+    //          a full snapshot
+    private boolean record(JournalAppend append) {
+        if (journal == null) {
+            return saveUsers();
+        }
+        try {
+            append.run();
+        } catch (IOException e) {
+            System.out.println("Error writing to journal: " + e.getMessage());
+            return false;
+        }
+        return journal.getRecordCount() < compactionThreshold || compact();
+    }
+
+    private interface JournalAppend {
+        void run() throws IOException;
+    }
 }
@@ -0,0 +1,103 @@
+package persistence;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replaces a file as a whole, so a crash mid-write leaves either the old or the new contents in place.
+ * Output goes to a temporary file beside the target whose name is unique to this write, so concurrent
+ * writers never share one. On commit the temporary file is forced to disk, moved over the target and the
+ * directory is forced too, which makes the rename itself durable where the platform allows opening a
+ * directory. If the file system cannot move atomically, the move falls back to a plain replace and a
+ * warning is printed, since a crash during that move can then lose the target.
+ */
+class AtomicFile {
+    private static final AtomicLong TEMP_COUNTER = new AtomicLong();
+
+    private final Path target;
+    private Path temp;
+    private FileChannel channel;
+
+    /**
+     * Constructs an AtomicFile that replaces the specified destination file.
+     *
+     * @param destination the destination file path
+     */
+    AtomicFile(String destination) {
+        this.target = Paths.get(destination).toAbsolutePath();
+    }
+
+    /**
+     * Creates a new temporary file beside the destination and opens it for writing.
+     *
+     * @return the channel to write the new contents to
+     * @throws IOException if the temporary file cannot be created
+     */
+    FileChannel open() throws IOException {
+        temp = target.resolveSibling(target.getFileName() + "." + ProcessHandle.current().pid() + "."
+                + TEMP_COUNTER.incrementAndGet() + ".tmp");
+        channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        return channel;
+    }
+
+    /**
+     * Forces the written contents to disk, closes the channel and moves the temporary file over the
+     * destination. If any step fails the destination is left untouched and the temporary file is removed.
+     * Callers must flush any buffering stream over the channel first.
+     *
+     * @throws IOException if the contents cannot be forced to disk or moved into place
+     */
+    void commit() throws IOException {
+        try {
+            channel.force(true);
+            channel.close();
+            moveIntoPlace();
+        } catch (IOException e) {
+            abort();
+            throw e;
+        }
+        forceDirectory();
+    }
+
+    /**
+     * Closes the channel without touching the destination and deletes the temporary file.
+     */
+    void abort() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // The output is being thrown away, so a failure to close it does not matter
+        }
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException e) {
+            System.out.println("Could not delete temporary file " + temp);
+        }
+    }
+
+    private void moveIntoPlace() throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            System.out.println("Warning: Atomic move not supported, replacing " + target + " non-atomically.");
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    // EFFECTS: Forces the directory entry for the rename to disk; does nothing on platforms, such as
+    //          Windows, where a directory cannot be opened
+    private void forceDirectory() {
+        try (FileChannel directory = FileChannel.open(target.getParent(), StandardOpenOption.READ)) {
+            directory.force(true);
+        } catch (IOException e) {
+            // The new contents are in place; only the durability of the rename is not guaranteed
+        }
+    }
+}
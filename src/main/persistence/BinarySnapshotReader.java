@@ -0,0 +1,173 @@
+package persistence;
+
+import model.Player;
+import model.Team;
+import model.User;
+import model.UserManager;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+
+/**
+ * Reads users from the binary snapshot format written by BinarySnapshotWriter.
+ * Strings from the dictionary are shared, so every player from the same club refers to the same String.
+ * Version 1 snapshots, whose dictionary references have no null marker, are still read.
+ */
+public class BinarySnapshotReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_VARINT_BYTES = 5;
+
+    private String source;
+    private DataInputStream in;
+    private String[] dictionary;
+    private int firstDictionaryIndex;
+
+    /**
+     * Constructs a BinarySnapshotReader to read from the specified source file.
+     *
+     * @param source the source file path
+     */
+    public BinarySnapshotReader(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Reads users from file and returns a UserManager containing them.
+     *
+     * @return UserManager with loaded users
+     * @throws IOException if the file cannot be read or is not a snapshot this reader understands
+     */
+    public UserManager read() throws IOException {
+        UserManager userManager = new UserManager();
+        readEach(userManager::addUser);
+        return userManager;
+    }
+
+    /**
+     * Reads users from file one at a time, handing each to the consumer as soon as it has been read.
+     *
+     * @param consumer receives every user in file order
+     * @throws IOException if the file cannot be read or is not a snapshot this reader understands
+     */
+    public void readEach(Consumer<User> consumer) throws IOException {
+        try (DataInputStream stream = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(Paths.get(source)), BUFFER_SIZE))) {
+            in = stream;
+            readHeader();
+            readDictionary();
+            int userCount = readVarInt();
+            for (int i = 0; i < userCount; i++) {
+                consumer.accept(readUser());
+            }
+        } finally {
+            in = null;
+            dictionary = null;
+        }
+    }
+
+    private void readHeader() throws IOException {
+        if (in.readInt() != BinarySnapshotWriter.MAGIC) {
+            throw new IOException("Not a binary user snapshot: " + source);
+        }
+        int version = readVarInt();
+        if (version < 1 || version > BinarySnapshotWriter.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + " in " + source);
+        }
+        firstDictionaryIndex = version == 1 ? 0 : 1;
+    }
+
+    private void readDictionary() throws IOException {
+        dictionary = new String[readVarInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = readString();
+        }
+    }
+
+    private User readUser() throws IOException {
+        User user = new User(readString(), readString(), null);
+        int teamCount = readVarInt();
+        for (int i = 0; i < teamCount; i++) {
+            user.addTeam(readTeam());
+        }
+        return user;
+    }
+
+    private Team readTeam() throws IOException {
+        Team team = new Team(readString(), readDictionaryString());
+        team.setLikes(readVarInt());
+        team.setListed(in.readBoolean());
+        int playerCount = readVarInt();
+        for (int i = 0; i < playerCount; i++) {
+            Player player = readPlayer();
+            team.addPlayer(player);
+            if (player.isInStarting11() && !team.setPlayerInStarting11(player, true)) {
+                System.out.println("Warning: Could not set player " + player.getName() + " in starting 11.");
+            }
+        }
+        return team;
+    }
+
+    private Player readPlayer() throws IOException {
+        String name = readString();
+        String nationality = readDictionaryString();
+        String league = readDictionaryString();
+        String clubAffiliation = readDictionaryString();
+        String preferredPosition = readDictionaryString();
+        String currentPosition = readDictionaryString();
+        int rating = readVarInt();
+        int pace = readVarInt();
+        int passing = readVarInt();
+        int shooting = readVarInt();
+        int dribbling = readVarInt();
+        int defending = readVarInt();
+        int physicality = readVarInt();
+        int skillMoves = readVarInt();
+        int weakFoot = readVarInt();
+        int price = readVarInt();
+        boolean isInStarting11 = in.readBoolean();
+
+        return new Player(name, nationality, league, clubAffiliation, preferredPosition,
+                currentPosition, rating, pace, passing, shooting, dribbling, defending, physicality,
+                skillMoves, weakFoot, price, isInStarting11);
+    }
+
+    // EFFECTS: Returns the dictionary string referred to next, or null for the null marker (0) of version 2
+    private String readDictionaryString() throws IOException {
+        int index = readVarInt() - firstDictionaryIndex;
+        if (index == -1) {
+            return null;
+        }
+        if (index < 0 || index >= dictionary.length) {
+            throw new IOException("Dictionary index " + (index + firstDictionaryIndex) + " out of range in "
+                    + source);
+        }
+        return dictionary[index];
+    }
+
+    private String readString() throws IOException {
+        int length = readVarInt();
+        if (length < 0) {
+            throw new IOException("Negative string length in " + source);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << (7 * i);
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in " + source);
+    }
+}
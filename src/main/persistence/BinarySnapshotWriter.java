@@ -0,0 +1,202 @@
+package persistence;
+
+import model.Player;
+import model.Team;
+import model.User;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes users to the binary snapshot format.
+ * A snapshot starts with a magic number and format version, followed by a dictionary of the strings
+ * that repeat across players and teams (nationalities, leagues, clubs, positions and formation types)
+ * and then every user. Dictionary strings are written as their index plus one, with 0 standing for a
+ * missing (null) value, and all numbers as unsigned varints, so a typical player takes a few dozen bytes
+ * instead of several hundred bytes of JSON. Usernames, password hashes and team and player names are
+ * required. Like JsonWriter, output goes to an AtomicFile that is forced to disk and atomically moved over
+ * the destination on close.
+ */
+public class BinarySnapshotWriter {
+    static final int MAGIC = 0x46555442; // "FUTB"
+    static final int VERSION = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private String destination;
+    private DataOutputStream out;
+    private AtomicFile file;
+    private Map<String, Integer> dictionary;
+
+    /**
+     * Constructs a BinarySnapshotWriter to write to the specified destination file.
+     *
+     * @param destination the destination file path
+     */
+    public BinarySnapshotWriter(String destination) {
+        this.destination = destination;
+    }
+
+    /**
+     * Opens the writer on a new temporary file beside the destination.
+     *
+     * @throws FileNotFoundException if the destination file cannot be opened
+     */
+    public void open() throws FileNotFoundException {
+        try {
+            file = new AtomicFile(destination);
+            out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(file.open()),
+                    BUFFER_SIZE));
+        } catch (IOException | InvalidPathException e) {
+            FileNotFoundException notFound = new FileNotFoundException(destination + ": " + e.getMessage());
+            notFound.initCause(e);
+            throw notFound;
+        }
+    }
+
+    /**
+     * Writes the snapshot header, the string dictionary and all users.
+     *
+     * @param users the users to write
+     * @throws IOException if an error occurs writing to file, or if a user, team or player is missing a
+     *                     required string; this is found before any user is written
+     */
+    public void writeAllUsers(Collection<User> users) throws IOException {
+        out.writeInt(MAGIC);
+        writeVarInt(VERSION);
+        writeDictionary(users);
+        writeVarInt(users.size());
+        for (User user : users) {
+            writeUser(user);
+        }
+    }
+
+    /**
+     * Flushes the output, forces it to disk and atomically replaces the destination with it.
+     *
+     * @throws IOException if the output cannot be written or moved into place
+     */
+    public void close() throws IOException {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            file.abort();
+            throw e;
+        }
+        file.commit();
+    }
+
+    /**
+     * Closes the writer without touching the destination and deletes the temporary file.
+     */
+    public void abort() {
+        file.abort();
+    }
+
+    // EFFECTS: Checks that every required string is present, assigns an index to every distinct repeated
+    //          string, in first-seen order, and writes them
+    private void writeDictionary(Collection<User> users) throws IOException {
+        dictionary = new HashMap<>();
+        for (User user : users) {
+            require(user.getUsername(), "a user has no username");
+            require(user.getPasswordHash(), "user " + user.getUsername() + " has no password hash");
+            for (Team team : user.getTeams()) {
+                require(team.getName(), "a team of user " + user.getUsername() + " has no name");
+                intern(team.getFormation().getFormationType());
+                for (Player player : team.getPlayers()) {
+                    require(player.getName(), "a player of team " + team.getName() + " has no name");
+                    intern(player.getNationality());
+                    intern(player.getLeague());
+                    intern(player.getClubAffiliation());
+                    intern(player.getPreferredPosition());
+                    intern(player.getCurrentPosition());
+                }
+            }
+        }
+        String[] strings = new String[dictionary.size()];
+        dictionary.forEach((string, index) -> strings[index] = string);
+        writeVarInt(strings.length);
+        for (String string : strings) {
+            writeString(string);
+        }
+    }
+
+    private void require(String string, String problem) throws IOException {
+        if (string == null) {
+            throw new IOException("Cannot write snapshot: " + problem);
+        }
+    }
+
+    private void intern(String string) {
+        if (string != null) {
+            dictionary.putIfAbsent(string, dictionary.size());
+        }
+    }
+
+    // EFFECTS: Writes the dictionary index of the string plus one, or 0 if it is null
+    private void writeDictionaryString(String string) throws IOException {
+        writeVarInt(string == null ? 0 : dictionary.get(string) + 1);
+    }
+
+    private void writeUser(User user) throws IOException {
+        writeString(user.getUsername());
+        writeString(user.getPasswordHash());
+        writeVarInt(user.getTeams().size());
+        for (Team team : user.getTeams()) {
+            writeTeam(team);
+        }
+    }
+
+    private void writeTeam(Team team) throws IOException {
+        writeString(team.getName());
+        writeDictionaryString(team.getFormation().getFormationType());
+        writeVarInt(team.getLikes());
+        out.writeBoolean(team.isListed());
+        writeVarInt(team.getPlayers().size());
+        for (Player player : team.getPlayers()) {
+            writePlayer(player);
+        }
+    }
+
+    private void writePlayer(Player player) throws IOException {
+        writeString(player.getName());
+        writeDictionaryString(player.getNationality());
+        writeDictionaryString(player.getLeague());
+        writeDictionaryString(player.getClubAffiliation());
+        writeDictionaryString(player.getPreferredPosition());
+        writeDictionaryString(player.getCurrentPosition());
+        writeVarInt(player.getRating());
+        writeVarInt(player.getPace());
+        writeVarInt(player.getPassing());
+        writeVarInt(player.getShooting());
+        writeVarInt(player.getDribbling());
+        writeVarInt(player.getDefending());
+        writeVarInt(player.getPhysicality());
+        writeVarInt(player.getSkillMoves());
+        writeVarInt(player.getWeakFoot());
+        writeVarInt(player.getPrice());
+        out.writeBoolean(player.isInStarting11());
+    }
+
+    private void writeString(String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // EFFECTS: Writes the value as an unsigned LEB128 varint: 7 bits per byte, high bit set on all but the last
+    private void writeVarInt(int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+}
@@ -0,0 +1,84 @@
+package persistence;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads username/password pairs to import, from a CSV or a JSON file.
+ * A file whose name ends in .json holds an array of {"username": ..., "password": ...} objects, either on
+ * its own or under a "users" key. Any other file is read as CSV: one username,password pair per line,
+ * split at the first comma so passwords may contain commas. Blank lines and a leading
+ * "username,password" header are skipped. Pairs are returned in file order, duplicates included.
+ */
+public class CredentialsReader {
+    private static final String HEADER = "username,password";
+
+    private String source;
+
+    /**
+     * Constructs a CredentialsReader to read from the specified source file.
+     *
+     * @param source the source file path
+     */
+    public CredentialsReader(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Reads every username/password pair in the file.
+     *
+     * @return the pairs, keyed by username, in file order
+     * @throws IOException if an error occurs reading data from file
+     * @throws IllegalArgumentException if a line or entry is not a username/password pair
+     */
+    public List<Map.Entry<String, String>> read() throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8)) {
+            return source.toLowerCase().endsWith(".json") ? readJson(in) : readCsv(in);
+        }
+    }
+
+    private List<Map.Entry<String, String>> readCsv(BufferedReader in) throws IOException {
+        List<Map.Entry<String, String>> credentials = new ArrayList<>();
+        int lineNumber = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty() || (lineNumber == 1 && line.trim().equalsIgnoreCase(HEADER))) {
+                continue;
+            }
+            int comma = line.indexOf(',');
+            if (comma < 0) {
+                throw new IllegalArgumentException("Line " + lineNumber + " is not a username,password pair.");
+            }
+            credentials.add(Map.entry(line.substring(0, comma).trim(), line.substring(comma + 1)));
+        }
+        return credentials;
+    }
+
+    private List<Map.Entry<String, String>> readJson(BufferedReader in) {
+        try {
+            Object value = new JSONTokener(in).nextValue();
+            JSONArray array = value instanceof JSONObject ? ((JSONObject) value).getJSONArray("users")
+                    : (JSONArray) value;
+            List<Map.Entry<String, String>> credentials = new ArrayList<>(array.length());
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject entry = array.getJSONObject(i);
+                credentials.add(Map.entry(entry.getString("username").trim(), entry.getString("password")));
+            }
+            return credentials;
+        } catch (JSONException | ClassCastException e) {
+            throw new IllegalArgumentException("Not a list of username/password pairs: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package persistence;
+
+import model.Formation;
+import model.PasswordUtils;
+import model.Player;
+import model.Team;
+import model.User;
+
+import java.io.IOException;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+/**
+ * Generates synthetic users.json-compatible datasets for load tests and benchmarks.
+ * Teams use formations from formations.json and draw their players from a shared pool of cards, so popular
+ * cards appear in many teams as they do in the real game. Each league has a home nation that most of its
+ * players come from, other nations and leagues follow a skewed (Zipf-like) distribution, and ratings are
+ * normally distributed with prices rising steeply with rating.
+ * A generator with the same seed and settings always produces the same dataset. Every generated user has
+ * the same password, "password" by default, stored as a fixed precomputed hash. setPassword hashes another
+ * password once rather than once per user, but with a fresh random salt, so datasets written after
+ * setPassword differ from run to run in the password hashes (and only there).
+ */
+public class DatasetGenerator {
+    private static final String[] NATIONS = {"England", "Spain", "Germany", "Italy", "France", "Brazil",
+        "Argentina", "Portugal", "Netherlands", "Belgium", "Croatia", "Uruguay", "Colombia", "Senegal", "Morocco",
+        "Nigeria", "Japan", "Korea Republic", "United States", "Mexico", "Denmark", "Norway", "Poland", "Serbia"};
+    private static final String[] LEAGUES = {"Premier League", "LaLiga", "Bundesliga", "Serie A", "Ligue 1",
+        "Eredivisie", "Liga Portugal"};
+    private static final String[] HOME_NATIONS = {"England", "Spain", "Germany", "Italy", "France",
+        "Netherlands", "Portugal"};
+    private static final String[] FIRST_NAMES = {"Alex", "Bruno", "Carlos", "Daniel", "Erik", "Felix", "Gabriel",
+        "Hugo", "Ivan", "Jamal", "Kai", "Luca", "Marco", "Nico", "Oscar", "Pablo", "Rafael", "Sam", "Theo", "Yann"};
+    private static final String[] LAST_NAMES = {"Silva", "Muller", "Rossi", "Martin", "Smith", "Garcia", "Jansen",
+        "Costa", "Dubois", "Kane", "Lopez", "Novak", "Okafor", "Peters", "Ramos", "Santos", "Tanaka", "Weber"};
+    private static final int CLUBS_PER_LEAGUE = 18;
+    private static final double HOME_NATION_SHARE = 0.6;
+    private static final double MEAN_RATING = 75;
+    private static final double RATING_SPREAD = 7;
+    // PasswordUtils hash of "password", fixed so that default datasets are identical byte for byte
+    private static final String DEFAULT_PASSWORD_HASH =
+            "65536:GfWyFPKnrZivSjNkfYA6eA==:YAL8s2duvf0W6NpHDJ0ZwRffa0Q6w87vB2VAbqAyPic=";
+
+    private final long seed;
+    private final List<String> formationTypes;
+    private String passwordHash = DEFAULT_PASSWORD_HASH;
+    private int cardsPerPosition = 200;
+    private int maxSubstitutes = 12;
+    private double listedShare = 0.3;
+    private int meanLikes = 20;
+
+    /**
+     * EFFECTS: Creates a generator whose datasets are determined by seed.
+     */
+    public DatasetGenerator(long seed) {
+        this.seed = seed;
+        this.formationTypes = new ArrayList<>(new TreeSet<>(Formation.getAllFormationTypes()));
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Sets the password every generated user can log in with.
+     */
+    public void setPassword(String password) {
+        this.passwordHash = PasswordUtils.hashPassword(password);
+    }
+
+    /**
+     * MODIFIES: this
+     * EFFECTS: Gives every generated user the given stored hash, skipping password hashing altogether.
+     */
+    public void setPasswordHash(String passwordHash) {
+        this.passwordHash = passwordHash;
+    }
+
+    /**
+     * REQUIRES: cardsPerPosition > 0
+     * MODIFIES: this
+     * EFFECTS: Sets how many distinct cards exist for each position; fewer cards means more shared players.
+     */
+    public void setCardsPerPosition(int cardsPerPosition) {
+        this.cardsPerPosition = cardsPerPosition;
+    }
+
+    /**
+     * REQUIRES: 0 <= maxSubstitutes <= 12
+     * MODIFIES: this
+     * EFFECTS: Sets the largest number of substitutes a team can have; each team gets between 0 and this many.
+     */
+    public void setMaxSubstitutes(int maxSubstitutes) {
+        this.maxSubstitutes = maxSubstitutes;
+    }
+
+    /**
+     * REQUIRES: 0 <= listedShare <= 1
+     * MODIFIES: this
+     * EFFECTS: Sets the share of teams listed in the community.
+     */
+    public void setListedShare(double listedShare) {
+        this.listedShare = listedShare;
+    }
+
+    /**
+     * REQUIRES: meanLikes >= 0
+     * MODIFIES: this
+     * EFFECTS: Sets the average number of likes of a listed team; likes are exponentially distributed.
+     */
+    public void setMeanLikes(int meanLikes) {
+        this.meanLikes = meanLikes;
+    }
+
+    /**
+     * EFFECTS: Returns userCount users with teamsPerUser teams each. Users are generated as they are iterated,
+     * so a large dataset can be written without holding it all in memory; iterating again yields the same users.
+     */
+    public Collection<User> users(int userCount, int teamsPerUser) {
+        return new AbstractCollection<User>() {
+            @Override
+            public Iterator<User> iterator() {
+                return new UserIterator(userCount, teamsPerUser);
+            }
+
+            @Override
+            public int size() {
+                return userCount;
+            }
+        };
+    }
+
+    /**
+     * EFFECTS: Returns count teams, each with a full starting eleven. Listing and likes follow the settings.
+     */
+    public List<Team> teams(int count) {
+        Run run = new Run();
+        List<Team> teams = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            teams.add(run.team("Team " + i));
+        }
+        return teams;
+    }
+
+    /**
+     * EFFECTS: Writes userCount users with teamsPerUser teams each to destination in the users.json format.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    public void write(String destination, int userCount, int teamsPerUser) throws IOException {
+        JsonWriter writer = new JsonWriter(destination);
+        writer.open();
+        try {
+            writer.writeAllUsers(users(userCount, teamsPerUser));
+        } catch (IOException | RuntimeException e) {
+            writer.abort();
+            throw e;
+        }
+        writer.close();
+    }
+
+    /**
+     * Usage: DatasetGenerator destination userCount teamsPerUser [seed] [password]
+     * Without a password every user's password is "password".
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: DatasetGenerator destination userCount teamsPerUser [seed] [password]");
+            return;
+        }
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+        int users = Integer.parseInt(args[1]);
+        int teams = Integer.parseInt(args[2]);
+        long start = System.nanoTime();
+        DatasetGenerator generator = new DatasetGenerator(seed);
+        if (args.length > 4) {
+            generator.setPassword(args[4]);
+        }
+        generator.write(args[0], users, teams);
+        System.out.printf("Wrote %d users with %d teams each to %s in %d ms%n", users, teams, args[0],
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private class UserIterator implements Iterator<User> {
+        private final Run run = new Run();
+        private final String hash = passwordHash;
+        private final int userCount;
+        private final int teamsPerUser;
+        private int next;
+
+        UserIterator(int userCount, int teamsPerUser) {
+            this.userCount = userCount;
+            this.teamsPerUser = teamsPerUser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < userCount;
+        }
+
+        @Override
+        public User next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            User user = new User("user" + next, hash, null);
+            for (int t = 0; t < teamsPerUser; t++) {
+                user.addTeam(run.team("user" + next + " Team " + (t + 1)));
+            }
+            next++;
+            return user;
+        }
+    }
+
+    /**
+     * One pass of generation: its own random numbers and card pool, so every pass starts from the seed.
+     */
+    private class Run {
+        private final Random random = new Random(seed);
+        private final Map<String, Player[]> cards = new HashMap<>();
+
+        Team team(String name) {
+            String formationType = formationTypes.get(random.nextInt(formationTypes.size()));
+            Team team = new Team(name, formationType);
+            List<String> positions = new ArrayList<>(new TreeSet<>(
+                    Formation.getPositionsForFormation(formationType)));
+            for (String position : positions) {
+                team.addPlayer(copy(pick(position), true));
+            }
+            int substitutes = random.nextInt(maxSubstitutes + 1);
+            for (int i = 0; i < substitutes; i++) {
+                team.addPlayer(copy(pick(positions.get(random.nextInt(positions.size()))), false));
+            }
+            boolean listed = random.nextDouble() < listedShare;
+            team.setListed(listed);
+            team.setLikes(listed ? (int) (-meanLikes * Math.log(1 - random.nextDouble())) : 0);
+            return team;
+        }
+
+        // EFFECTS: Returns a card for the position, favouring the first cards of its pool
+        private Player pick(String position) {
+            Player[] pool = cards.computeIfAbsent(position, this::cardsFor);
+            return pool[zipf(pool.length)];
+        }
+
+        private Player[] cardsFor(String position) {
+            Player[] pool = new Player[cardsPerPosition];
+            for (int i = 0; i < pool.length; i++) {
+                pool[i] = card(position, i);
+            }
+            return pool;
+        }
+
+        private Player card(String position, int index) {
+            int league = zipf(LEAGUES.length);
+            String nation = random.nextDouble() < HOME_NATION_SHARE
+                    ? HOME_NATIONS[league] : NATIONS[zipf(NATIONS.length)];
+            String club = LEAGUES[league] + " FC " + (1 + zipf(CLUBS_PER_LEAGUE));
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)] + " " + position + index;
+            int rating = clamp((int) Math.round(MEAN_RATING + random.nextGaussian() * RATING_SPREAD), 45, 99);
+            int price = (int) Math.min(Integer.MAX_VALUE, 1000 * Math.pow(1.18, rating - 45));
+            return new Player(name, nation, LEAGUES[league], club, position, position, rating, stat(rating),
+                    stat(rating), stat(rating), stat(rating), stat(rating), stat(rating), 1 + random.nextInt(5),
+                    1 + random.nextInt(5), price, false);
+        }
+
+        private int stat(int rating) {
+            return clamp(rating + (int) Math.round(random.nextGaussian() * 10), 20, 99);
+        }
+
+        // EFFECTS: Returns an index in [0, n) where index k is drawn with probability proportional to 1 / (k + 1)
+        private int zipf(int n) {
+            double harmonic = 0;
+            for (int k = 1; k <= n; k++) {
+                harmonic += 1.0 / k;
+            }
+            double target = random.nextDouble() * harmonic;
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1.0 / (k + 1);
+                if (sum >= target) {
+                    return k;
+                }
+            }
+            return n - 1;
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static Player copy(Player p, boolean starter) {
+        return new Player(p.getName(), p.getNationality(), p.getLeague(), p.getClubAffiliation(),
+                p.getPreferredPosition(), p.getCurrentPosition(), p.getRating(), p.getPace(), p.getPassing(),
+                p.getShooting(), p.getDribbling(), p.getDefending(), p.getPhysicality(), p.getSkillMoves(),
+                p.getWeakFoot(), p.getPrice(), starter);
+    }
+}
@@ -0,0 +1,223 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Writes the events of the EventLog to a log file on a background thread.
+ * Logging an event only puts it in a bounded queue; the writer thread takes events off the queue in
+ * batches and appends each batch with one channel write, so no per-event I/O happens on the thread that
+ * logged it. When the file would grow past its size limit it is rotated: events.log becomes events.log.1,
+ * events.log.1 becomes events.log.2 and so on, and the oldest file beyond the limit is deleted.
+ * A shutdown hook writes whatever is still queued when the JVM exits. If the queue is full, for example
+ * because the disk is slow, new events are dropped and counted rather than blocking the logging thread.
+ */
+public class EventLogSink implements Consumer<Event> {
+    private static final int QUEUE_CAPACITY = 65536;
+    private static final int BATCH_SIZE = 1024;
+    private static final long FLUSH_INTERVAL_MILLIS = 100;
+
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxRotatedFiles;
+    private final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final Thread shutdownHook = new Thread(this::close, "event-log-sink-shutdown");
+    private volatile boolean running;
+    private Thread writer;
+    private FileChannel channel;
+    private long fileSize;
+
+    /**
+     * Constructs a sink that writes to the specified file.
+     *
+     * @param destination     the log file path
+     * @param maxFileBytes    the size at which the log file is rotated
+     * @param maxRotatedFiles the number of rotated files kept besides the current one
+     */
+    public EventLogSink(String destination, long maxFileBytes, int maxRotatedFiles) {
+        this.file = Paths.get(destination);
+        this.maxFileBytes = maxFileBytes;
+        this.maxRotatedFiles = maxRotatedFiles;
+    }
+
+    /**
+     * Opens the log file for appending, starts the writer thread and begins receiving events from the
+     * EventLog. Does nothing if the sink is already running; a sink whose writer thread has stopped can be
+     * started again.
+     *
+     * @throws IOException if the log file cannot be opened
+     */
+    public synchronized void start() throws IOException {
+        if (running) {
+            return;
+        }
+        if (writer != null) {
+            awaitWriter();
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        openChannel();
+        running = true;
+        writer = new Thread(this::drain, "event-log-sink");
+        writer.setDaemon(true);
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        EventLog.getInstance().addListener(this);
+        writer.start();
+    }
+
+    /**
+     * Queues an event to be written, or counts it as dropped if the queue is full.
+     *
+     * @param event the event that was logged
+     */
+    @Override
+    public void accept(Event event) {
+        if (!queue.offer(event)) {
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Stops receiving events, writes every queued event and closes the log file. Does nothing if the sink
+     * is not running.
+     */
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        EventLog.getInstance().removeListener(this);
+        running = false;
+        awaitWriter();
+    }
+
+    private void awaitWriter() {
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of events written to the log files.
+     *
+     * @return the number of events written
+     */
+    public long getWrittenCount() {
+        return writtenCount.get();
+    }
+
+    /**
+     * Returns the number of events that were not written because the queue was full or a write failed.
+     *
+     * @return the number of events dropped
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    // EFFECTS: Writes batches of queued events until the sink is closed or the writer is interrupted and the
+    //          queue is empty, then stops receiving events, closes the log file and unregisters the shutdown hook
+    private void drain() {
+        List<Event> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                Event first = queue.poll(FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, BATCH_SIZE - 1);
+                    writeBatch(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                running = false;
+                EventLog.getInstance().removeListener(this);
+            }
+        }
+        try {
+            channel.force(true);
+            channel.close();
+        } catch (IOException e) {
+            // the events are already written; nothing more can be done at this point
+        }
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // the JVM is already shutting down, so this is the hook running
+        }
+    }
+
+    // EFFECTS: Appends the events to the log file, rotating it first if they would not fit
+    private void writeBatch(List<Event> batch) {
+        StringBuilder text = new StringBuilder(batch.size() * 64);
+        for (Event event : batch) {
+            text.append(event.getDate().toInstant()).append('\t')
+                    .append(event.getDescription().replace("\n", "\\n")).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            if (fileSize > 0 && fileSize + buffer.remaining() > maxFileBytes) {
+                rotate();
+            }
+            int length = buffer.remaining();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            fileSize += length;
+            writtenCount.addAndGet(batch.size());
+        } catch (IOException e) {
+            droppedCount.addAndGet(batch.size());
+        }
+    }
+
+    // EFFECTS: Closes the log file, shifts the rotated files up by one and opens a new, empty log file
+    private void rotate() throws IOException {
+        channel.close();
+        try {
+            if (maxRotatedFiles == 0) {
+                Files.delete(file);
+                return;
+            }
+            Files.deleteIfExists(rotated(maxRotatedFiles));
+            for (int i = maxRotatedFiles - 1; i >= 1; i--) {
+                if (Files.exists(rotated(i))) {
+                    Files.move(rotated(i), rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            openChannel();
+        }
+    }
+
+    private Path rotated(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+
+    private void openChannel() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        fileSize = channel.size();
+    }
+}
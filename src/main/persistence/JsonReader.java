@@ -1,18 +1,30 @@
 package persistence;
 
+import model.EventLog;
 import model.User;
 import model.UserManager;
 import model.Team;
 import model.Player;
-import org.json.JSONArray;
+import org.json.JSONException;
 import org.json.JSONObject;
+import org.json.JSONTokener;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Reads user data from JSON file.
+ * The file is pulled token by token rather than loaded into a String and a full JSON tree: each user,
+ * team and player is built as soon as its object has been read, so the parser only ever holds one user
+ * in progress no matter how large the file is.
+ * Creating the teams and players of a file does not log an event for each of them; one summary event
+ * with the counts and the time taken is logged once the file has been read.
  */
 public class JsonReader {
     private String source;
@@ -33,67 +45,108 @@ public class JsonReader {
      * @throws IOException if an error occurs reading data from file
      */
     public UserManager read() throws IOException {
-        String content = new String(Files.readAllBytes(Paths.get(source)));
-        JSONObject json = new JSONObject(content);
-        return parseUserManager(json);
+        UserManager userManager = new UserManager();
+        readEach(userManager::addUser);
+        return userManager;
     }
 
     /**
-     * Parses UserManager from JSON object.
+     * Reads users from file one at a time, handing each to the consumer as soon as it has been parsed.
+     * Memory use is bounded by the largest single user rather than by the size of the file.
      *
-     * @param json the JSON object
-     * @return UserManager
+     * @param consumer receives every user in file order
+     * @throws IOException if an error occurs reading data from file
      */
-    private UserManager parseUserManager(JSONObject json) {
-        UserManager userManager = new UserManager();
-        JSONArray usersArray = json.getJSONArray("users");
-        for (Object userObj : usersArray) {
-            JSONObject userJson = (JSONObject) userObj;
-            User user = parseUser(userJson);
-            userManager.addUser(user);
+    public void readEach(Consumer<User> consumer) throws IOException {
+        long start = System.nanoTime();
+        int[] counts = new int[3];
+        EventLog.Suppression suppression = EventLog.getInstance().suppress(EventLog.Category.TEAM,
+                EventLog.Category.PLAYER);
+        try {
+            readUsers(user -> {
+                counts[0]++;
+                counts[1] += user.getTeams().size();
+                for (Team team : user.getTeams()) {
+                    counts[2] += team.getPlayers().size();
+                }
+                consumer.accept(user);
+            });
+        } finally {
+            suppression.close();
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        EventLog.getInstance().logEvent(EventLog.Category.PERSISTENCE, () -> "loaded " + counts[0]
+                + " users with " + counts[1] + " teams and " + counts[2] + " players from " + source + " in "
+                + millis + " ms");
+    }
+
+    private void readUsers(Consumer<User> consumer) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(Paths.get(source), StandardCharsets.UTF_8)) {
+            JSONTokener tokener = new JSONTokener(in);
+            readObject(tokener, key -> {
+                if (key.equals("users")) {
+                    readArray(tokener, () -> consumer.accept(parseUser(tokener)));
+                } else {
+                    tokener.nextValue();
+                }
+            });
+        } catch (JSONException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
         }
-        return userManager;
     }
 
     /**
-     * Parses a User from JSON object.
+     * Parses a User from the tokener. Teams may appear before the username, so they are collected first.
      *
-     * @param json the JSON object
+     * @param tokener tokener positioned at the start of a user object
      * @return User
      */
-    private User parseUser(JSONObject json) {
-        String username = json.getString("username");
-        String passwordHash = json.getString("passwordHash");
-        User user = new User(username, passwordHash, null);
-
-        JSONArray teamsArray = json.getJSONArray("teams");
-        for (Object teamObj : teamsArray) {
-            JSONObject teamJson = (JSONObject) teamObj;
-            Team team = parseTeam(teamJson);
+    private User parseUser(JSONTokener tokener) {
+        String[] fields = new String[2];
+        List<Team> teams = new ArrayList<>();
+        readObject(tokener, key -> {
+            if (key.equals("username")) {
+                fields[0] = asString(tokener.nextValue(), key);
+            } else if (key.equals("passwordHash")) {
+                fields[1] = asString(tokener.nextValue(), key);
+            } else if (key.equals("teams")) {
+                readArray(tokener, () -> teams.add(parseTeam(tokener)));
+            } else {
+                tokener.nextValue();
+            }
+        });
+        User user = new User(require(fields[0], "username"), require(fields[1], "passwordHash"), null);
+        for (Team team : teams) {
             user.addTeam(team);
         }
         return user;
     }
 
     /**
-     * Parses a Team from JSON object.
+     * Parses a Team from the tokener. The team can only be created once its formation type is known,
+     * so players that come first are held until the end of the team object.
      *
-     * @param json the JSON object
+     * @param tokener tokener positioned at the start of a team object
      * @return Team
      */
-    private Team parseTeam(JSONObject json) {
-        String name = json.getString("name");
-        int likes = json.getInt("likes");
-        boolean isListed = json.getBoolean("isListed");
-        String formationType = json.getString("formationType"); // Get formation type
-        Team team = new Team(name, formationType);
-        team.setLikes(likes);
-        team.setListed(isListed);
-
-        JSONArray playersArray = json.getJSONArray("players");
-        for (Object playerObj : playersArray) {
-            JSONObject playerJson = (JSONObject) playerObj;
-            Player player = parsePlayer(playerJson);
+    private Team parseTeam(JSONTokener tokener) {
+        JSONObject fields = new JSONObject();
+        List<Player> players = new ArrayList<>();
+        readObject(tokener, key -> {
+            if (key.equals("players")) {
+                readArray(tokener, () -> players.add(parsePlayer((JSONObject) tokener.nextValue())));
+            } else {
+                fields.put(key, tokener.nextValue());
+            }
+        });
+        Team team = new Team(fields.getString("name"), fields.getString("formationType"));
+        team.setLikes(fields.getInt("likes"));
+        team.setListed(fields.getBoolean("isListed"));
+
+        for (Player player : players) {
             team.addPlayer(player);
 
             // Set player in starting 11 if applicable
@@ -114,7 +167,7 @@ public class JsonReader {
      * @param json the JSON object
      * @return Player
      */
-    private Player parsePlayer(JSONObject json) {
+    static Player parsePlayer(JSONObject json) {
         String name = json.getString("name");
         String nationality = json.getString("nationality");
         String league = json.getString("league");
@@ -139,4 +192,65 @@ public class JsonReader {
 
         return player;
     }
+
+    /**
+     * Reads one JSON object, calling the handler after each key. The handler must consume the value.
+     */
+    private static void readObject(JSONTokener tokener, Consumer<String> fieldHandler) {
+        if (tokener.nextClean() != '{') {
+            throw tokener.syntaxError("A JSONObject text must begin with '{'");
+        }
+        char c = tokener.nextClean();
+        while (c != '}') {
+            if (c != '"') {
+                throw tokener.syntaxError("Expected a quoted key");
+            }
+            String key = tokener.nextString('"');
+            if (tokener.nextClean() != ':') {
+                throw tokener.syntaxError("Expected a ':' after a key");
+            }
+            fieldHandler.accept(key);
+            c = tokener.nextClean();
+            if (c == ',') {
+                c = tokener.nextClean();
+            } else if (c != '}') {
+                throw tokener.syntaxError("Expected a ',' or '}'");
+            }
+        }
+    }
+
+    /**
+     * Reads one JSON array, calling the handler once per element. The handler must consume the element.
+     */
+    private static void readArray(JSONTokener tokener, Runnable elementHandler) {
+        if (tokener.nextClean() != '[') {
+            throw tokener.syntaxError("A JSONArray text must begin with '['");
+        }
+        if (tokener.nextClean() == ']') {
+            return;
+        }
+        tokener.back();
+        char c;
+        do {
+            elementHandler.run();
+            c = tokener.nextClean();
+        } while (c == ',');
+        if (c != ']') {
+            throw tokener.syntaxError("Expected a ',' or ']'");
+        }
+    }
+
+    private static String asString(Object value, String key) {
+        if (!(value instanceof String)) {
+            throw new JSONException("JSONObject[\"" + key + "\"] is not a string.");
+        }
+        return (String) value;
+    }
+
+    private static String require(String value, String key) {
+        if (value == null) {
+            throw new JSONException("JSONObject[\"" + key + "\"] not found.");
+        }
+        return value;
+    }
 }
@@ -2,68 +2,127 @@ package persistence;
 
 import model.User;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
-
-import java.io.File;
+import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
 import java.util.Collection;
 
 /**
  * Writes JSON representation of user data to file.
+ * Users are serialized and written one at a time through a buffered writer on the file's channel, so
+ * saving never holds more than one user's JSON tree in memory. Output goes to an AtomicFile: a temporary
+ * file next to the destination, unique to this writer, which is forced to disk and then atomically moved
+ * over the destination on close, so a crash mid-save leaves the previous file intact.
  */
 public class JsonWriter {
     private static final int TAB = 4;
-    private PrintWriter writer;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private Writer writer;
+    private AtomicFile file;
     private String destination;
+    private boolean prettyPrint;
 
     /**
-     * Constructs a JsonWriter to write to the specified destination file.
+     * Constructs a JsonWriter that writes indented JSON to the specified destination file.
      *
      * @param destination the destination file path
      */
     public JsonWriter(String destination) {
+        this(destination, true);
+    }
+
+    /**
+     * Constructs a JsonWriter to write to the specified destination file.
+     *
+     * @param destination the destination file path
+     * @param prettyPrint true to indent the output, false to write it as compactly as possible
+     */
+    public JsonWriter(String destination, boolean prettyPrint) {
         this.destination = destination;
+        this.prettyPrint = prettyPrint;
     }
 
     /**
-     * Opens the writer. Throws FileNotFoundException if the destination file cannot be opened for writing.
+     * Opens the writer on a new temporary file beside the destination.
+     * Throws FileNotFoundException if that file cannot be created.
      *
      * @throws FileNotFoundException if the destination file cannot be opened
      */
     public void open() throws FileNotFoundException {
-        writer = new PrintWriter(new File(destination));
+        try {
+            file = new AtomicFile(destination);
+            writer = new BufferedWriter(Channels.newWriter(file.open(), StandardCharsets.UTF_8.newEncoder(), -1),
+                    BUFFER_SIZE);
+        } catch (IOException | InvalidPathException e) {
+            FileNotFoundException notFound = new FileNotFoundException(destination + ": " + e.getMessage());
+            notFound.initCause(e);
+            throw notFound;
+        }
     }
 
     /**
-     * Closes the writer.
+     * Flushes the output, forces it to disk and atomically replaces the destination with it.
+     * If any step fails the destination is left untouched and the temporary file is removed.
+     *
+     * @throws IOException if the output cannot be written or moved into place
      */
-    public void close() {
-        writer.close();
+    public void close() throws IOException {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            file.abort();
+            throw e;
+        }
+        file.commit();
     }
 
     /**
-     * Saves the given JSON string to file.
-     *
-     * @param json the JSON string to save
+     * Closes the writer without touching the destination and deletes the temporary file.
+     * Use this when a write fails part way through.
      */
-    private void saveToFile(String json) {
-        writer.print(json);
+    public void abort() {
+        file.abort();
     }
 
     /**
-     * Writes JSON representation of all users to file.
+     * Writes JSON representation of all users to file, one user at a time.
      *
      * @param users the collection of users to write
+     * @throws IOException if an error occurs writing to file
      */
-    public void writeAllUsers(Collection<User> users) {
-        JSONObject json = new JSONObject();
-        JSONArray usersArray = new JSONArray();
+    public void writeAllUsers(Collection<User> users) throws IOException {
+        writer.write(prettyPrint ? "{\"users\": [" : "{\"users\":[");
+        boolean first = true;
         for (User user : users) {
-            usersArray.put(user.toJson());
+            if (!first) {
+                writer.write(',');
+            }
+            writeUser(user);
+            first = false;
+        }
+        writer.write(prettyPrint && !first ? "\n]}" : "]}");
+        writer.flush();
+    }
+
+    /**
+     * Writes one user as an element of the users array.
+     *
+     * @param user the user to write
+     * @throws IOException if an error occurs writing to file
+     */
+    private void writeUser(User user) throws IOException {
+        if (prettyPrint) {
+            writer.write('\n');
+            for (int i = 0; i < TAB; i++) {
+                writer.write(' ');
+            }
+            user.toJson().write(writer, TAB, TAB);
+        } else {
+            user.toJson().write(writer);
         }
-        json.put("users", usersArray);
-        saveToFile(json.toString(TAB));
     }
 }
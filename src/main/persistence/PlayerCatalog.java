@@ -0,0 +1,341 @@
+package persistence;
+
+import model.Player;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A read-only catalog of player cards, memory-mapped from a file of fixed-width records.
+ * The file holds a header, a dictionary of the strings shared between cards (nationality, league, club
+ * and position), one 32-byte record per card and finally the UTF-8 card names. Because every record is
+ * the same size, card i is found by arithmetic, and queries read the mapped bytes directly: browsing or
+ * filtering the catalog allocates nothing per card, and a Player is only created by getPlayer.
+ * Record layout (offsets in bytes):
+ * 0 name offset (int), 4 name length (short), 6 nationality, 8 league, 10 club, 12 position (dictionary
+ * ids, unsigned short), 14-22 rating, pace, passing, shooting, dribbling, defending, physicality,
+ * skill moves, weak foot (unsigned byte), 23 price (int), 27-31 unused.
+ */
+public class PlayerCatalog implements Closeable {
+    static final int MAGIC = 0x46555443; // "FUTC"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 32;
+    private static final int MAX_DICTIONARY_SIZE = 0xFFFF;
+    private static final int MAX_NAME_BYTES = 0xFFFF;
+    private static final int MAX_STAT = 0xFF;
+
+    private static final int NAME_OFFSET = 0;
+    private static final int NAME_LENGTH = 4;
+    private static final int NATIONALITY = 6;
+    private static final int LEAGUE = 8;
+    private static final int CLUB = 10;
+    private static final int POSITION = 12;
+    private static final int RATING = 14;
+    private static final int PACE = 15;
+    private static final int PASSING = 16;
+    private static final int SHOOTING = 17;
+    private static final int DRIBBLING = 18;
+    private static final int DEFENDING = 19;
+    private static final int PHYSICALITY = 20;
+    private static final int SKILL_MOVES = 21;
+    private static final int WEAK_FOOT = 22;
+    private static final int PRICE = 23;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final String[] dictionary;
+    private final Map<String, Integer> dictionaryIds;
+    private final int size;
+    private final int recordsStart;
+    private final int namesStart;
+
+    private PlayerCatalog(FileChannel channel, MappedByteBuffer buffer, String source) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a player catalog: " + source);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Unsupported catalog version " + buffer.getInt(4) + " in " + source);
+        }
+        this.size = buffer.getInt(8);
+        this.recordsStart = buffer.getInt(16);
+        this.namesStart = buffer.getInt(20);
+        if (size < 0 || (long) recordsStart + (long) size * RECORD_SIZE > namesStart
+                || namesStart > buffer.capacity()) {
+            throw new IOException("Corrupt player catalog: " + source);
+        }
+        this.dictionary = new String[buffer.getInt(12)];
+        this.dictionaryIds = new HashMap<>();
+        readDictionary();
+    }
+
+    private void readDictionary() {
+        int position = HEADER_SIZE;
+        for (int i = 0; i < dictionary.length; i++) {
+            int length = Short.toUnsignedInt(buffer.getShort(position));
+            dictionary[i] = decode(position + 2, length);
+            dictionaryIds.put(dictionary[i], i);
+            position += 2 + length;
+        }
+    }
+
+    /**
+     * Maps the catalog file into memory. Only the header and dictionary are read up front.
+     *
+     * @param source the catalog file path
+     * @return the opened catalog
+     * @throws IOException if the file cannot be mapped or is not a catalog this version understands
+     */
+    public static PlayerCatalog open(String source) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(source), StandardOpenOption.READ);
+        try {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new PlayerCatalog(channel, buffer, source);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the players to a catalog file. Each player's preferred position is stored as its position.
+     *
+     * @param destination the catalog file path
+     * @param players     the cards to store, in catalog order
+     * @throws IOException              if the file cannot be written
+     * @throws IllegalArgumentException if a player does not fit the fixed-width record
+     */
+    public static void write(String destination, List<Player> players) throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        ByteBuffer records = ByteBuffer.allocate(players.size() * RECORD_SIZE);
+        List<byte[]> names = new ArrayList<>();
+        int nameOffset = 0;
+        for (Player player : players) {
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            checkFits(name.length, MAX_NAME_BYTES, "name length", player);
+            names.add(name);
+            int start = records.position();
+            records.putInt(nameOffset).putShort((short) name.length);
+            records.putShort(id(player.getNationality(), ids, strings));
+            records.putShort(id(player.getLeague(), ids, strings));
+            records.putShort(id(player.getClubAffiliation(), ids, strings));
+            records.putShort(id(player.getPreferredPosition(), ids, strings));
+            putStats(records, player);
+            records.putInt(player.getPrice());
+            records.position(start + RECORD_SIZE);
+            nameOffset += name.length;
+        }
+        writeFile(destination, strings, records.array(), names, players.size());
+    }
+
+    private static void putStats(ByteBuffer records, Player player) {
+        int[] stats = {player.getRating(), player.getPace(), player.getPassing(), player.getShooting(),
+                player.getDribbling(), player.getDefending(), player.getPhysicality(), player.getSkillMoves(),
+                player.getWeakFoot()};
+        for (int stat : stats) {
+            checkFits(stat, MAX_STAT, "attribute", player);
+            records.put((byte) stat);
+        }
+    }
+
+    private static short id(String string, Map<String, Integer> ids, List<String> strings) {
+        Integer id = ids.get(string);
+        if (id == null) {
+            if (strings.size() == MAX_DICTIONARY_SIZE) {
+                throw new IllegalArgumentException("Too many distinct strings for a player catalog");
+            }
+            id = strings.size();
+            ids.put(string, id);
+            strings.add(string);
+        }
+        return (short) id.intValue();
+    }
+
+    private static void checkFits(int value, int max, String what, Player player) {
+        if (value < 0 || value > max) {
+            throw new IllegalArgumentException("Player " + player.getName() + " has a " + what + " of " + value
+                    + ", outside 0-" + max);
+        }
+    }
+
+    private static void writeFile(String destination, List<String> strings, byte[] records, List<byte[]> names,
+                                  int count) throws IOException {
+        List<byte[]> encoded = new ArrayList<>();
+        int dictionaryBytes = 0;
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            checkStringFits(bytes.length);
+            encoded.add(bytes);
+            dictionaryBytes += 2 + bytes.length;
+        }
+        int recordsStart = HEADER_SIZE + dictionaryBytes;
+        Path path = Paths.get(destination);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            writeHeader(out, count, strings.size(), recordsStart, recordsStart + records.length);
+            for (byte[] bytes : encoded) {
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+            out.write(records);
+            for (byte[] name : names) {
+                out.write(name);
+            }
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out, int count, int dictionarySize, int recordsStart,
+                                    int namesStart) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(count);
+        out.writeInt(dictionarySize);
+        out.writeInt(recordsStart);
+        out.writeInt(namesStart);
+        out.write(new byte[HEADER_SIZE - 24]);
+    }
+
+    private static void checkStringFits(int length) {
+        if (length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("Catalog string too long: " + length + " bytes");
+        }
+    }
+
+    /**
+     * EFFECTS: Returns the number of cards in the catalog.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * REQUIRES: 0 <= index < size()
+     * EFFECTS: Creates a Player for the card at index, in its preferred position and not in a starting 11.
+     */
+    public Player getPlayer(int index) {
+        int r = record(index);
+        String position = dictionary[id(r, POSITION)];
+        return new Player(getName(index), dictionary[id(r, NATIONALITY)], dictionary[id(r, LEAGUE)],
+                dictionary[id(r, CLUB)], position, position, stat(r, RATING), stat(r, PACE), stat(r, PASSING),
+                stat(r, SHOOTING), stat(r, DRIBBLING), stat(r, DEFENDING), stat(r, PHYSICALITY),
+                stat(r, SKILL_MOVES), stat(r, WEAK_FOOT), buffer.getInt(r + PRICE), false);
+    }
+
+    /**
+     * REQUIRES: 0 <= index < size()
+     * EFFECTS: Returns the name of the card at index.
+     */
+    public String getName(int index) {
+        int r = record(index);
+        int length = Short.toUnsignedInt(buffer.getShort(r + NAME_LENGTH));
+        return decode(namesStart + buffer.getInt(r + NAME_OFFSET), length);
+    }
+
+    /**
+     * REQUIRES: 0 <= index < size()
+     * EFFECTS: Returns the rating of the card at index without creating a Player.
+     */
+    public int getRating(int index) {
+        return stat(record(index), RATING);
+    }
+
+    /**
+     * REQUIRES: 0 <= index < size()
+     * EFFECTS: Returns the price of the card at index without creating a Player.
+     */
+    public int getPrice(int index) {
+        return buffer.getInt(record(index) + PRICE);
+    }
+
+    /**
+     * REQUIRES: 0 <= index < size()
+     * EFFECTS: Returns the club of the card at index without creating a Player.
+     */
+    public String getClub(int index) {
+        return dictionary[id(record(index), CLUB)];
+    }
+
+    /**
+     * EFFECTS: Returns the indexes, in catalog order, of the cards priced at most maxPrice with a rating of at
+     * least minRating.
+     */
+    public int[] findByPriceAndRating(int maxPrice, int minRating) {
+        int[] matches = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int r = recordsStart + i * RECORD_SIZE;
+            if (buffer.getInt(r + PRICE) <= maxPrice && stat(r, RATING) >= minRating) {
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * EFFECTS: Returns the indexes, in catalog order, of the cards from the given club (exact match).
+     */
+    public int[] findByClub(String club) {
+        Integer clubId = dictionaryIds.get(club);
+        if (clubId == null) {
+            return new int[0];
+        }
+        int[] matches = new int[size];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (id(recordsStart + i * RECORD_SIZE, CLUB) == clubId) {
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Closes the file. The mapping itself is released when the catalog is garbage collected.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private int record(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Catalog index " + index + " out of range 0-" + (size - 1));
+        }
+        return recordsStart + index * RECORD_SIZE;
+    }
+
+    private int id(int record, int field) {
+        return Short.toUnsignedInt(buffer.getShort(record + field));
+    }
+
+    private int stat(int record, int field) {
+        return Byte.toUnsignedInt(buffer.get(record + field));
+    }
+
+    private String decode(int position, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
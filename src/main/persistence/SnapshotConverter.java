@@ -0,0 +1,74 @@
+package persistence;
+
+import model.User;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts user snapshots between the JSON format and the binary format.
+ * Usage: SnapshotConverter (--to-binary | --to-json) source destination
+ */
+public class SnapshotConverter {
+
+    private SnapshotConverter() {
+    }
+
+    /**
+     * Converts a JSON users file into a binary snapshot.
+     *
+     * @param jsonSource        the JSON file to read
+     * @param binaryDestination the binary snapshot to write
+     * @return the number of users converted
+     * @throws IOException if either file cannot be read or written
+     */
+    public static int jsonToBinary(String jsonSource, String binaryDestination) throws IOException {
+        List<User> users = new ArrayList<>();
+        new JsonReader(jsonSource).readEach(users::add);
+        BinarySnapshotWriter writer = new BinarySnapshotWriter(binaryDestination);
+        writer.open();
+        try {
+            writer.writeAllUsers(users);
+        } catch (IOException e) {
+            writer.abort();
+            throw e;
+        }
+        writer.close();
+        return users.size();
+    }
+
+    /**
+     * Converts a binary snapshot into a JSON users file.
+     *
+     * @param binarySource    the binary snapshot to read
+     * @param jsonDestination the JSON file to write
+     * @return the number of users converted
+     * @throws IOException if either file cannot be read or written
+     */
+    public static int binaryToJson(String binarySource, String jsonDestination) throws IOException {
+        List<User> users = new ArrayList<>();
+        new BinarySnapshotReader(binarySource).readEach(users::add);
+        JsonWriter writer = new JsonWriter(jsonDestination);
+        writer.open();
+        try {
+            writer.writeAllUsers(users);
+        } catch (IOException e) {
+            writer.abort();
+            throw e;
+        }
+        writer.close();
+        return users.size();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3 || !(args[0].equals("--to-binary") || args[0].equals("--to-json"))) {
+            System.out.println("Usage: SnapshotConverter (--to-binary | --to-json) source destination");
+            return;
+        }
+        int converted = args[0].equals("--to-binary")
+                ? jsonToBinary(args[1], args[2])
+                : binaryToJson(args[1], args[2]);
+        System.out.println("Converted " + converted + " users from " + args[1] + " to " + args[2]);
+    }
+}
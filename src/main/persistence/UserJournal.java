@@ -0,0 +1,285 @@
+package persistence;
+
+import model.Player;
+import model.Team;
+import model.User;
+import model.UserManager;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only journal of changes made to users and their teams since the last snapshot (users.json).
+ * Each change is one compact JSON line, appended and forced to disk on its own, so recording an edit
+ * costs as much as the edit rather than a rewrite of every user. Every record is idempotent: replaying
+ * a record whose change is already in the snapshot leaves the users unchanged, which makes it safe to
+ * compact by saving a snapshot first and truncating the journal afterwards.
+ */
+public class UserJournal {
+    private static final String OP = "op";
+    private static final String SIGN_UP = "signUp";
+    private static final String TEAM_CREATED = "teamCreated";
+    private static final String PLAYER_ADDED = "playerAdded";
+    private static final String TEAM_LISTED = "teamListed";
+    private static final String LIKES = "likes";
+
+    private String source;
+    private FileChannel channel;
+    private int recordCount;
+
+    /**
+     * Constructs a journal kept in the specified file.
+     *
+     * @param source the journal file path
+     */
+    public UserJournal(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Opens the journal for appending, creating the file if it does not exist. A torn final line left by a
+     * crash mid-append is cut off first, so the next record starts on a line of its own instead of being
+     * glued to the fragment and lost with it on the next replay.
+     *
+     * @throws IOException if the journal file cannot be opened
+     */
+    public void open() throws IOException {
+        channel = FileChannel.open(Paths.get(source), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        try {
+            trimTornTail();
+            channel.position(channel.size());
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+    }
+
+    // EFFECTS: Truncates the journal just after its last newline if it does not end with one
+    private void trimTornTail() throws IOException {
+        long end = channel.size();
+        ByteBuffer chunk = ByteBuffer.allocate(4096);
+        long position = end;
+        while (position > 0) {
+            int length = (int) Math.min(chunk.capacity(), position);
+            position -= length;
+            chunk.clear().limit(length);
+            readFully(chunk, position);
+            for (int i = length - 1; i >= 0; i--) {
+                if (chunk.get(i) == '\n') {
+                    truncateTo(position + i + 1, end);
+                    return;
+                }
+            }
+        }
+        truncateTo(0, end);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Journal shrank while it was being opened");
+            }
+        }
+    }
+
+    private void truncateTo(long size, long end) throws IOException {
+        if (size < end) {
+            System.out.println("Warning: Discarding torn journal record.");
+            channel.truncate(size);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Closes the journal.
+     *
+     * @throws IOException if the journal file cannot be closed
+     */
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Returns the number of records in the journal, counting those found by the last replay.
+     *
+     * @return the number of records since the journal was last truncated
+     */
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Empties the journal once its records are safely in a snapshot.
+     *
+     * @throws IOException if the journal cannot be truncated
+     */
+    public void truncate() throws IOException {
+        channel.truncate(0);
+        channel.force(true);
+        recordCount = 0;
+    }
+
+    /**
+     * Records that a user signed up.
+     *
+     * @param user the new user
+     * @throws IOException if the record cannot be written
+     */
+    public void appendSignUp(User user) throws IOException {
+        JSONObject record = record(SIGN_UP, user);
+        record.put("passwordHash", user.getPasswordHash());
+        append(record);
+    }
+
+    /**
+     * Records that a user created a team.
+     *
+     * @param user the team's owner
+     * @param team the new team
+     * @throws IOException if the record cannot be written
+     */
+    public void appendTeamCreated(User user, Team team) throws IOException {
+        JSONObject record = record(TEAM_CREATED, user, team);
+        record.put("formationType", team.getFormation().getFormationType());
+        append(record);
+    }
+
+    /**
+     * Records that a player was added to a team.
+     *
+     * @param user   the team's owner
+     * @param team   the team
+     * @param player the player that was added
+     * @throws IOException if the record cannot be written
+     */
+    public void appendPlayerAdded(User user, Team team, Player player) throws IOException {
+        JSONObject record = record(PLAYER_ADDED, user, team);
+        record.put("player", player.toJson());
+        append(record);
+    }
+
+    /**
+     * Records that a team was listed in the community.
+     *
+     * @param user the team's owner
+     * @param team the team
+     * @throws IOException if the record cannot be written
+     */
+    public void appendTeamListed(User user, Team team) throws IOException {
+        append(record(TEAM_LISTED, user, team));
+    }
+
+    /**
+     * Records a team's like count. The count is stored rather than the increment so replay is idempotent.
+     *
+     * @param user the team's owner
+     * @param team the team
+     * @throws IOException if the record cannot be written
+     */
+    public void appendLikes(User user, Team team) throws IOException {
+        JSONObject record = record(LIKES, user, team);
+        record.put("likes", team.getLikes());
+        append(record);
+    }
+
+    /**
+     * Applies every record in the journal to the user manager, in the order they were written.
+     * A torn final line left by a crash mid-append is ignored.
+     *
+     * @param userManager the users to bring up to date
+     * @return the number of records replayed
+     * @throws IOException if the journal cannot be read
+     */
+    public int replay(UserManager userManager) throws IOException {
+        Path path = Paths.get(source);
+        recordCount = 0;
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isEmpty() && apply(userManager, line)) {
+                    recordCount++;
+                }
+            }
+        }
+        return recordCount;
+    }
+
+    // EFFECTS: Applies one journal line; returns false if the line is not a complete record
+    private boolean apply(UserManager userManager, String line) {
+        JSONObject record;
+        try {
+            record = new JSONObject(line);
+        } catch (JSONException e) {
+            System.out.println("Warning: Skipping unreadable journal record.");
+            return false;
+        }
+        String op = record.getString(OP);
+        User user = userManager.getUser(record.getString("username"));
+        if (op.equals(SIGN_UP)) {
+            if (user == null) {
+                userManager.addUser(new User(record.getString("username"), record.getString("passwordHash"), null));
+            }
+        } else if (user == null) {
+            System.out.println("Warning: Journal record for unknown user " + record.getString("username"));
+        } else {
+            applyTeamRecord(user, op, record);
+        }
+        return true;
+    }
+
+    private void applyTeamRecord(User user, String op, JSONObject record) {
+        Team team = user.getTeamByName(record.getString("team"));
+        if (op.equals(TEAM_CREATED)) {
+            if (team == null) {
+                user.addTeam(new Team(record.getString("team"), record.getString("formationType")));
+            }
+        } else if (team == null) {
+            System.out.println("Warning: Journal record for unknown team " + record.getString("team"));
+        } else if (op.equals(PLAYER_ADDED)) {
+            team.addPlayer(JsonReader.parsePlayer(record.getJSONObject("player")));
+        } else if (op.equals(TEAM_LISTED)) {
+            team.setListed(true);
+        } else if (op.equals(LIKES)) {
+            team.setLikes(record.getInt("likes"));
+        }
+    }
+
+    private static JSONObject record(String op, User user) {
+        JSONObject record = new JSONObject();
+        record.put(OP, op);
+        record.put("username", user.getUsername());
+        return record;
+    }
+
+    private static JSONObject record(String op, User user, Team team) {
+        JSONObject record = record(op, user);
+        record.put("team", team.getName());
+        return record;
+    }
+
+    // EFFECTS: Writes the record as one line and forces it to disk before returning
+    private void append(JSONObject record) throws IOException {
+        ByteBuffer line = ByteBuffer.wrap((record.toString() + "\n").getBytes(StandardCharsets.UTF_8));
+        while (line.hasRemaining()) {
+            channel.write(line);
+        }
+        channel.force(false);
+        recordCount++;
+    }
+}
@@ -7,6 +7,9 @@ import model.User;
 import model.UserManager;
 import model.EventLog;
 import model.Formation;
+import model.FormationRanker;
+import model.SquadOptimizer;
+import persistence.EventLogSink;
 
 import javax.sound.sampled.*;
 import javax.swing.*;
@@ -15,10 +18,12 @@ import java.awt.event.ActionEvent;
 import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.File;
+import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionException;
 
 /**
  * Represents the main application for building football teams.
@@ -30,12 +35,21 @@ public class FootballTeamBuilderApp extends JFrame {
     private static final int MIN_SKILL_MOVES = 1;
     private static final int MAX_WEAK_FOOT = 5;
     private static final int MIN_WEAK_FOOT = 1;
+    private static final int BEST_FORMATION_TIME_BUDGET_MS = 200;
+    private static final int BEST_FORMATIONS_SHOWN = 5;
+    private static final String EVENT_LOG_FILE = "./data/logs/events.log";
+    private static final long EVENT_LOG_MAX_BYTES = 1024 * 1024;
+    private static final int EVENT_LOG_ROTATED_FILES = 5;
 
     private UserManager userManager;
     private TeamRepository repository;
+    private EventLogSink eventLogSink;
+    private final FormationRanker formationRanker = new FormationRanker(BEST_FORMATION_TIME_BUDGET_MS);
     private User currentUser;
 
     private JPanel currentPanel;
+    private JButton signUpButton;
+    private JButton loginButton;
 
     private Clip backgroundClip;
 
@@ -53,10 +67,12 @@ public class FootballTeamBuilderApp extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
 
+        startEventLogSink();
         userManager = new UserManager();
         repository = new TeamRepository();
 
         userManager.loadUsers();
+        userManager.openJournal();
         initializeCommunityTeams();
 
         playBackgroundMusic();
@@ -66,7 +82,11 @@ public class FootballTeamBuilderApp extends JFrame {
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
+                userManager.closeJournal();
                 printEventLog();
+                if (eventLogSink != null) {
+                    eventLogSink.close();
+                }
                 if (backgroundClip != null && backgroundClip.isRunning()) {
                     backgroundClip.stop();
                 }
@@ -75,6 +95,19 @@ public class FootballTeamBuilderApp extends JFrame {
         });
     }
 
+    /**
+     * Starts writing logged events to the rolling event log file in the background.
+     */
+    private void startEventLogSink() {
+        EventLogSink sink = new EventLogSink(EVENT_LOG_FILE, EVENT_LOG_MAX_BYTES, EVENT_LOG_ROTATED_FILES);
+        try {
+            sink.start();
+            eventLogSink = sink;
+        } catch (IOException e) {
+            System.err.println("Event log file unavailable: " + e.getMessage());
+        }
+    }
+
     /**
      * Prints the event log to the console.
      */
@@ -90,13 +123,23 @@ public class FootballTeamBuilderApp extends JFrame {
      * Initializes community teams from all users.
      */
     private void initializeCommunityTeams() {
-        for (User user : userManager.getAllUsers()) {
-            for (Team team : user.getTeams()) {
-                if (team.isListed()) {
-                    repository.addTeamToCommunity(team);
+        long start = System.nanoTime();
+        EventLog.Suppression suppression = EventLog.getInstance().suppress(EventLog.Category.COMMUNITY);
+        try {
+            for (User user : userManager.getAllUsers()) {
+                for (Team team : user.getTeams()) {
+                    if (team.isListed()) {
+                        repository.addTeamToCommunity(team);
+                    }
                 }
             }
+        } finally {
+            suppression.close();
         }
+        int added = repository.getAllCommunityTeams().size();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        EventLog.getInstance().logEvent(EventLog.Category.COMMUNITY,
+                () -> "added " + added + " listed teams to the community in " + millis + " ms");
     }
 
     /**
@@ -133,8 +176,8 @@ public class FootballTeamBuilderApp extends JFrame {
 
         JPanel buttonPanel = new JPanel();
         buttonPanel.setOpaque(false);
-        JButton signUpButton = new JButton("Sign Up");
-        JButton loginButton = new JButton("Login");
+        signUpButton = new JButton("Sign Up");
+        loginButton = new JButton("Login");
 
         signUpButton.addActionListener(e -> signUp());
         loginButton.addActionListener(e -> login());
@@ -294,13 +337,59 @@ public class FootballTeamBuilderApp extends JFrame {
             return;
         }
 
-        try {
-            currentUser = userManager.signUp(username, password);
-            userManager.saveUsers();
-            JOptionPane.showMessageDialog(this, "Signup successful! Welcome, " + username + "!");
-            showMainPanel();
-        } catch (IllegalArgumentException e) {
-            JOptionPane.showMessageDialog(this, "Signup failed: " + e.getMessage());
+        setAuthInProgress(true);
+        userManager.signUpAsync(username, password).whenComplete((user, error) ->
+                SwingUtilities.invokeLater(() -> finishSignUp(user, error)));
+    }
+
+    /**
+     * Completes a sign-up on the event dispatch thread once the password has been hashed.
+     *
+     * @param user  the new user, or null if sign-up failed
+     * @param error why sign-up failed, or null if it succeeded
+     */
+    private void finishSignUp(User user, Throwable error) {
+        setAuthInProgress(false);
+        if (error != null) {
+            JOptionPane.showMessageDialog(this, "Signup failed: " + causeOf(error).getMessage());
+            return;
+        }
+        currentUser = user;
+        warnIfNotSaved(userManager.recordSignUp(currentUser));
+        JOptionPane.showMessageDialog(this, "Signup successful! Welcome, " + user.getUsername() + "!");
+        showMainPanel();
+    }
+
+    /**
+     * Shows a wait cursor and disables the sign-up and login buttons while a password is being checked, so
+     * repeated clicks cannot queue more hashing work.
+     *
+     * @param inProgress true while a sign-up or login is running
+     */
+    private void setAuthInProgress(boolean inProgress) {
+        setCursor(inProgress ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+        signUpButton.setEnabled(!inProgress);
+        loginButton.setEnabled(!inProgress);
+    }
+
+    /**
+     * Returns the exception that made an async operation fail, unwrapping the CompletionException around it.
+     *
+     * @param error the error an async operation completed with
+     * @return the underlying exception
+     */
+    private static Throwable causeOf(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Tells the user if their last change could not be written to disk.
+     *
+     * @param saved whether the change was saved
+     */
+    private void warnIfNotSaved(boolean saved) {
+        if (!saved) {
+            JOptionPane.showMessageDialog(this, "Warning: your changes could not be saved to disk.");
         }
     }
 
@@ -320,13 +409,26 @@ public class FootballTeamBuilderApp extends JFrame {
             return;
         }
 
-        try {
-            currentUser = userManager.login(username, password);
-            JOptionPane.showMessageDialog(this, "Login successful! Welcome back, " + username + "!");
-            showMainPanel();
-        } catch (IllegalArgumentException e) {
-            JOptionPane.showMessageDialog(this, "Login failed: " + e.getMessage());
+        setAuthInProgress(true);
+        userManager.loginAsync(username, password).whenComplete((user, error) ->
+                SwingUtilities.invokeLater(() -> finishLogin(user, error)));
+    }
+
+    /**
+     * Completes a login on the event dispatch thread once the password has been checked.
+     *
+     * @param user  the logged-in user, or null if login failed
+     * @param error why login failed, or null if it succeeded
+     */
+    private void finishLogin(User user, Throwable error) {
+        setAuthInProgress(false);
+        if (error != null) {
+            JOptionPane.showMessageDialog(this, "Login failed: " + causeOf(error).getMessage());
+            return;
         }
+        currentUser = user;
+        JOptionPane.showMessageDialog(this, "Login successful! Welcome back, " + user.getUsername() + "!");
+        showMainPanel();
     }
 
     /**
@@ -360,6 +462,7 @@ public class FootballTeamBuilderApp extends JFrame {
             JOptionPane.showMessageDialog(this, "Cannot add player. Team might be full.");
             return;
         }
+        warnIfNotSaved(userManager.recordPlayerAdded(currentUser, team, player));
 
         if (!team.setPlayerInStarting11(player, true)) {
             JOptionPane.showMessageDialog(this,
@@ -368,6 +471,7 @@ public class FootballTeamBuilderApp extends JFrame {
         }
 
         pitchPanel.updatePlayerCard(positionName, player);
+        pitchPanel.updateChemistry(team.getLiveChemistry());
 
         JOptionPane.showMessageDialog(this, "Player added to " + teamName);
     }
@@ -452,6 +556,7 @@ public class FootballTeamBuilderApp extends JFrame {
         if (team == null) {
             team = new Team(teamName, selectedFormation.getFormationType());
             currentUser.addTeam(team);
+            warnIfNotSaved(userManager.recordTeamCreated(currentUser, team));
         }
         return team;
     }
@@ -498,11 +603,11 @@ public class FootballTeamBuilderApp extends JFrame {
         if (team != null && team.isStartingLineupComplete()) {
             team.setListed(true);
             repository.addTeamToCommunity(team);
-            userManager.saveUsers();
+            warnIfNotSaved(userManager.recordTeamListed(currentUser, team));
             JOptionPane.showMessageDialog(this, "Team " + teamName + " saved and listed in community.");
             showMainPanel();
         } else {
-            int playersNeeded = 11 - (team != null ? team.getStartingPlayers().size() : 0);
+            int playersNeeded = 11 - (team != null ? team.getStartingPlayerCount() : 0);
             JOptionPane.showMessageDialog(this,
                     "Cannot save incomplete team! You need to add " + playersNeeded
                             + " more players to the starting eleven.");
@@ -650,6 +755,53 @@ public class FootballTeamBuilderApp extends JFrame {
         }
     }
 
+    /**
+     * Ranks every formation by the chemistry the team's squad can reach in it on the ranker's own pool, then
+     * shows the best ones. The button that asked for the ranking is disabled until it is shown.
+     *
+     * @param team   the team whose squad is ranked
+     * @param button the button that started the ranking
+     */
+    private void showBestFormations(Team team, JButton button) {
+        List<Player> squad = team.getPlayers();
+        button.setEnabled(false);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        formationRanker.rankFormationsAsync(squad).whenComplete((ranked, error) ->
+                SwingUtilities.invokeLater(() -> {
+                    setCursor(Cursor.getDefaultCursor());
+                    button.setEnabled(true);
+                    finishBestFormations(team, ranked, error);
+                }));
+    }
+
+    /**
+     * Shows the best formations once the ranking has finished.
+     *
+     * @param team   the team whose squad was ranked
+     * @param ranked the ranked lineups, or null if ranking failed
+     * @param error  why ranking failed, or null if it succeeded
+     */
+    private void finishBestFormations(Team team, List<SquadOptimizer.Result> ranked, Throwable error) {
+        if (error != null) {
+            JOptionPane.showMessageDialog(this, "Could not rank formations: " + causeOf(error).getMessage());
+            return;
+        }
+        if (ranked.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "This squad cannot fill any formation.");
+            return;
+        }
+        StringBuilder message = new StringBuilder("Best formations for " + team.getName() + ":\n");
+        for (int i = 0; i < Math.min(BEST_FORMATIONS_SHOWN, ranked.size()); i++) {
+            SquadOptimizer.Result result = ranked.get(i);
+            message.append(i + 1).append(". ")
+                    .append(result.getFormationType().replaceAll("(\\d)(?=(\\d))", "$1-"))
+                    .append(" - Chemistry: ").append(result.isExhaustive() ? "" : "at least ")
+                    .append(result.getScore()).append(result.isExhaustive() ? "" : " (search cut short)")
+                    .append("\n");
+        }
+        JOptionPane.showMessageDialog(this, message.toString());
+    }
+
     /**
      * Displays detailed information about a team.
      *
@@ -682,14 +834,19 @@ public class FootballTeamBuilderApp extends JFrame {
         JButton likeButton = new JButton("Like");
         likeButton.addActionListener(e -> {
             team.likeTeam();
+            warnIfNotSaved(userManager.recordLikes(team));
             JOptionPane.showMessageDialog(this, "You liked " + team.getName());
         });
 
+        JButton bestFormationButton = new JButton("Best Formations");
+        bestFormationButton.addActionListener(e -> showBestFormations(team, bestFormationButton));
+
         JButton backButton = new JButton("Back to Main Menu");
         backButton.addActionListener(e -> showMainPanel());
 
         JPanel buttonPanel = new JPanel();
         buttonPanel.add(likeButton);
+        buttonPanel.add(bestFormationButton);
         buttonPanel.add(backButton);
 
         detailPanel.add(scrollPane, BorderLayout.CENTER);
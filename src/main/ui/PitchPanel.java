@@ -17,6 +17,7 @@ public class PitchPanel extends JPanel {
     private Map<String, JButton> positionButtons = new HashMap<>();
     private Map<Integer, JButton> substituteButtons = new HashMap<>(); // Assuming substitutes have unique identifiers
     private JButton toggleSubsButton;
+    private JLabel chemistryLabel;
     private boolean isSubstitutesVisible = false;
     private Formation formation;
 
@@ -63,6 +64,10 @@ public class PitchPanel extends JPanel {
         JPanel toggleButtonPanel = new JPanel();
         toggleButtonPanel.setOpaque(false);
         toggleButtonPanel.add(toggleSubsButton);
+        chemistryLabel = new JLabel("Chemistry: 0");
+        chemistryLabel.setForeground(Color.WHITE);
+        chemistryLabel.setFont(new Font("Arial", Font.BOLD, 14));
+        toggleButtonPanel.add(chemistryLabel);
         add(toggleButtonPanel, BorderLayout.NORTH);
     }
 
@@ -226,6 +231,11 @@ public class PitchPanel extends JPanel {
     }
 
 
+    // EFFECTS: Shows the team's current chemistry above the pitch
+    public void updateChemistry(int chemistry) {
+        chemistryLabel.setText("Chemistry: " + chemistry);
+    }
+
     @SuppressWarnings("methodlength")
     private ImageIcon createPlayerCardIcon(Player player) {
         try {
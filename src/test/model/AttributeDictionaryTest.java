@@ -0,0 +1,55 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttributeDictionaryTest {
+
+    @Test
+    public void testInternReturnsSharedInstance() {
+        String first = AttributeDictionary.intern(new String("Dictionary Club"));
+        assertSame(first, AttributeDictionary.intern(new String("Dictionary Club")));
+        assertEquals("dictionary club", AttributeDictionary.intern("dictionary club"));
+        assertNull(AttributeDictionary.intern(null));
+    }
+
+    @Test
+    public void testIdsIgnoreCase() {
+        int id = AttributeDictionary.idOf("Dictionary League");
+        assertEquals(id, AttributeDictionary.idOf("DICTIONARY LEAGUE"));
+        assertEquals(id, AttributeDictionary.idOf("dictionary league"));
+        assertNotEquals(id, AttributeDictionary.idOf("Dictionary League 2"));
+        assertTrue(AttributeDictionary.size() > 0);
+    }
+
+    @Test
+    public void testMissingValuesNeverMatch() {
+        assertEquals(AttributeDictionary.NO_ID, AttributeDictionary.idOf(null));
+        assertFalse(AttributeDictionary.sameValue(AttributeDictionary.NO_ID, AttributeDictionary.NO_ID));
+        int id = AttributeDictionary.idOf("Dictionary Nation");
+        assertTrue(AttributeDictionary.sameValue(id, id));
+        assertFalse(AttributeDictionary.sameValue(id, AttributeDictionary.NO_ID));
+    }
+
+    @Test
+    public void testLinkChemistryWithMissingClub() {
+        Player a = new Player("A", "Dictionary Nation", "Other League", null, "ST", "ST",
+                80, 80, 80, 80, 80, 80, 80, 3, 3, 1000, false);
+        Player b = new Player("B", "DICTIONARY NATION", "Another League", null, "ST", "ST",
+                80, 80, 80, 80, 80, 80, 80, 3, 3, 1000, false);
+        assertEquals(ChemistryEngine.SAME_NATION_OR_LEAGUE_LINK, ChemistryEngine.linkChemistry(a, b));
+    }
+
+    @Test
+    public void testConcurrentIdsAreConsistent() {
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        IntStream.range(0, 2000).parallel()
+                .forEach(i -> ids.add(AttributeDictionary.idOf((i % 2 == 0 ? "Parallel " : "PARALLEL ") + (i % 50))));
+        assertEquals(50, ids.size());
+    }
+}
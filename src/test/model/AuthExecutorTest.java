@@ -0,0 +1,67 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthExecutorTest {
+
+    @Test
+    public void testRunsTasksOffTheCallingThread() {
+        AuthExecutor executor = new AuthExecutor(2, 4);
+        Thread caller = Thread.currentThread();
+        Thread worker = executor.submit(Thread::currentThread).join();
+        assertNotSame(caller, worker);
+        assertTrue(worker.isDaemon());
+        assertEquals(1, executor.getCompletedCount());
+    }
+
+    @Test
+    public void testRejectsTasksWhenQueueIsFull() throws InterruptedException {
+        AuthExecutor executor = new AuthExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Integer> running = executor.submit(() -> {
+            started.countDown();
+            await(release);
+            return 1;
+        });
+        started.await();
+        CompletableFuture<Integer> queued = executor.submit(() -> 2);
+        assertEquals(1, executor.getQueueDepth());
+
+        CompletableFuture<Integer> rejected = executor.submit(() -> 3);
+        CompletionException e = assertThrows(CompletionException.class, rejected::join);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+        assertEquals(1, executor.getRejectedCount());
+
+        release.countDown();
+        assertEquals(1, running.join());
+        assertEquals(2, queued.join());
+        assertEquals(2, executor.getCompletedCount());
+        assertTrue(executor.getAverageLatencyMillis() > 0);
+    }
+
+    @Test
+    public void testFailedTasksCountTowardsLatency() {
+        AuthExecutor executor = new AuthExecutor(1, 1);
+        CompletableFuture<Integer> failed = executor.submit(() -> {
+            throw new IllegalArgumentException("no");
+        });
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals(1, executor.getCompletedCount());
+        assertEquals(0.0, new AuthExecutor(1, 1).getAverageLatencyMillis());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
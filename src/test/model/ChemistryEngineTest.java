@@ -0,0 +1,153 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChemistryEngineTest {
+    private static final String[] NATIONS = {"Brazil", "France", "Spain"};
+    private static final String[] LEAGUES = {"LaLiga", "Premier League", "Serie A"};
+    private static final String[] CLUBS = {"Real Madrid", "Arsenal", "Inter", "Napoli"};
+    private static final String[] BASE_POSITIONS = {"GK", "CB", "RB", "LB", "CM", "CAM", "ST", "RW", "LW"};
+
+    @Test
+    public void testCompiledFormationSlotsAndEdges() {
+        ChemistryEngine engine = new Formation("433").getChemistryEngine();
+        assertEquals(11, engine.getSlotCount());
+        assertTrue(engine.getSlotIndex("gk") >= 0);
+        assertEquals("GK", engine.getSlotName(engine.getSlotIndex("GK")));
+        assertEquals(-1, engine.getSlotIndex("CDM"));
+        assertEquals(-1, engine.getSlotIndex((String) null));
+        assertEquals(-1, engine.getSlotIndex(Position.CDM));
+        assertEquals(engine.getSlotIndex("LCB"), engine.getSlotIndex(Position.LCB));
+    }
+
+    @Test
+    public void testDuplicateEdgesAreCountedOnce() {
+        // 3412 lists the LCB-GK link twice in formations.json
+        Formation formation = new Formation("3412");
+        ChemistryEngine engine = formation.getChemistryEngine();
+        Set<String> distinct = new HashSet<>();
+        for (String position : formation.getRequiredPositions()) {
+            for (String linked : formation.getLinkedPositions(position)) {
+                distinct.add(position.compareTo(linked) < 0 ? position + "-" + linked : linked + "-" + position);
+            }
+        }
+        assertEquals(distinct.size(), engine.getEdgeCount());
+    }
+
+    @Test
+    public void testEngineIsSharedPerFormationType() {
+        assertSame(new Formation("442").getChemistryEngine(), new Formation("442").getChemistryEngine());
+    }
+
+    @Test
+    public void testIncompleteLineupScoresZero() {
+        ChemistryEngine engine = new Formation("433").getChemistryEngine();
+        assertEquals(0, engine.score(engine.newLineup()));
+    }
+
+    @Test
+    public void testScoreMatchesReferenceForEveryFormation() {
+        Random random = new Random(42);
+        for (String formationType : Formation.getAllFormationTypes()) {
+            Formation formation = new Formation(formationType);
+            for (int trial = 0; trial < 20; trial++) {
+                Team team = new Team("Team " + trial, formationType);
+                for (String position : formation.getRequiredPositions()) {
+                    Player player = randomPlayer(random, position, team.getPlayers().size());
+                    team.addPlayer(player);
+                    assertTrue(team.setPlayerInStarting11(player, true));
+                }
+                assertEquals(referenceChemistry(team, formation), team.calculateChemistry());
+            }
+        }
+    }
+
+    @Test
+    public void testIncrementalChemistryMatchesFullScore() {
+        Random random = new Random(7);
+        Formation formation = new Formation("4231");
+        ChemistryEngine engine = formation.getChemistryEngine();
+        Team team = new Team("Incremental", "4231");
+        String[] positions = formation.getRequiredPositions().toArray(new String[0]);
+        for (int edit = 0; edit < 200; edit++) {
+            String position = positions[random.nextInt(positions.length)];
+            Player player = randomPlayer(random, position, edit);
+            team.addPlayer(player);
+            team.setPlayerInStarting11(player, true);
+            if (team.getPlayers().size() == 23) {
+                team.removePlayer(team.getSubstitutes().get(0));
+            }
+            Player[] lineup = engine.newLineup();
+            for (Player starter : team.getStartingPlayers()) {
+                lineup[engine.getSlotIndex(starter.getCurrentPosition())] = starter;
+            }
+            assertEquals(engine.score(lineup), team.calculateChemistry());
+            // Count each slot against the slots not yet counted so every link is added once
+            int expected = 0;
+            for (int slot = 0; slot < lineup.length; slot++) {
+                if (lineup[slot] != null) {
+                    expected += lineup[slot].getPositionChemistry();
+                    expected += engine.slotLinkChemistry(lineup, slot);
+                    lineup[slot] = null;
+                }
+            }
+            assertEquals(expected, team.getLiveChemistry());
+        }
+    }
+
+    @Test
+    public void testLinkChemistryRules() {
+        Player a = player("A", "Brazil", "LaLiga", "Real Madrid");
+        assertEquals(3, ChemistryEngine.linkChemistry(a, player("B", "France", "Serie A", "real madrid")));
+        assertEquals(2, ChemistryEngine.linkChemistry(a, player("C", "brazil", "laliga", "Sevilla")));
+        assertEquals(1, ChemistryEngine.linkChemistry(a, player("D", "Brazil", "Serie A", "Inter")));
+        assertEquals(1, ChemistryEngine.linkChemistry(a, player("E", "France", "LaLiga", "Sevilla")));
+        assertEquals(0, ChemistryEngine.linkChemistry(a, player("F", "France", "Serie A", "Inter")));
+    }
+
+    private Player player(String name, String nation, String league, String club) {
+        return new Player(name, nation, league, club, "ST", "ST", 80, 80, 80, 80, 80, 80, 80, 3, 3, 1000, false);
+    }
+
+    private Player randomPlayer(Random random, String position, int index) {
+        String preferred = random.nextBoolean() ? position : BASE_POSITIONS[random.nextInt(BASE_POSITIONS.length)];
+        return new Player("Player " + index, NATIONS[random.nextInt(NATIONS.length)],
+                LEAGUES[random.nextInt(LEAGUES.length)], CLUBS[random.nextInt(CLUBS.length)],
+                preferred, position, 80, 80, 80, 80, 80, 80, 80, 3, 3, 1000, false);
+    }
+
+    // Straightforward scoring over position names, used as the expected value for the engine
+    private int referenceChemistry(Team team, Formation formation) {
+        List<Player> starters = team.getStartingPlayers();
+        int chemistry = 0;
+        for (Player player : starters) {
+            if (player.isInPreferredPosition()) {
+                chemistry += 5;
+            } else if (player.isPositionCompatible()) {
+                chemistry += 2;
+            } else {
+                chemistry -= 3;
+            }
+        }
+        Set<String> processed = new HashSet<>();
+        for (Player player : starters) {
+            for (String linkedPosition : formation.getLinkedPositions(player.getCurrentPosition())) {
+                for (Player linked : starters) {
+                    String key = player.getName().compareTo(linked.getName()) < 0
+                            ? player.getName() + "-" + linked.getName() : linked.getName() + "-" + player.getName();
+                    if (linked.getCurrentPosition().equalsIgnoreCase(linkedPosition) && processed.add(key)) {
+                        chemistry += ChemistryEngine.linkChemistry(player, linked);
+                    }
+                }
+            }
+        }
+        return chemistry;
+    }
+}
@@ -0,0 +1,183 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogTest {
+    private EventLog log;
+
+    @BeforeEach
+    public void setUp() {
+        log = EventLog.getInstance();
+        log.setCapacity(EventLog.DEFAULT_CAPACITY);
+        log.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (EventLog.Category category : EventLog.Category.values()) {
+            log.setEnabled(category, true);
+        }
+        log.setCapacity(EventLog.DEFAULT_CAPACITY);
+        log.clear();
+    }
+
+    @Test
+    public void testSingleInstance() {
+        assertSame(log, EventLog.getInstance());
+        assertEquals(EventLog.DEFAULT_CAPACITY, log.getCapacity());
+    }
+
+    @Test
+    public void testLogEventsInOrder() {
+        log.logEvent(new Event("first"));
+        log.logEvent(new Event("second"));
+        assertEquals(List.of("Event log cleared.", "first", "second"), descriptions());
+        assertEquals(0, log.getDroppedCount());
+    }
+
+    @Test
+    public void testClear() {
+        log.logEvent(new Event("first"));
+        log.clear();
+        assertEquals(List.of("Event log cleared."), descriptions());
+    }
+
+    @Test
+    public void testCategoriesEnabledByDefault() {
+        log.logEvent(EventLog.Category.TEAM, () -> "team event");
+        assertTrue(log.isEnabled(EventLog.Category.PLAYER));
+        assertEquals(List.of("Event log cleared.", "team event"), descriptions());
+    }
+
+    @Test
+    public void testDisabledCategoryNeverBuildsDescription() {
+        log.setEnabled(EventLog.Category.PLAYER, false);
+        assertFalse(log.isEnabled(EventLog.Category.PLAYER));
+        assertTrue(log.isEnabled(EventLog.Category.TEAM));
+        log.logEvent(EventLog.Category.PLAYER, () -> fail("description built for a disabled category"));
+        new Team("Quiet", "433").addPlayer(new Player("A", "N", "L", "C", "ST", "ST", 80, 80, 80, 80, 80, 80,
+                80, 3, 3, 1000, false));
+        assertEquals(List.of("Event log cleared.", "Team Quiet created with formation 433"), descriptions());
+
+        log.setEnabled(EventLog.Category.PLAYER, true);
+        log.logEvent(EventLog.Category.PLAYER, () -> "player event");
+        assertEquals("player event", descriptions().get(2));
+    }
+
+    @Test
+    public void testSuppressionsOverlap() {
+        EventLog.Suppression outer = log.suppress(EventLog.Category.TEAM, EventLog.Category.PLAYER);
+        EventLog.Suppression inner = log.suppress(EventLog.Category.TEAM);
+        log.logEvent(EventLog.Category.TEAM, () -> "hidden");
+        outer.close();
+        outer.close();
+        assertTrue(log.isEnabled(EventLog.Category.PLAYER));
+        assertFalse(log.isEnabled(EventLog.Category.TEAM));
+        inner.close();
+        assertTrue(log.isEnabled(EventLog.Category.TEAM));
+        log.logEvent(EventLog.Category.TEAM, () -> "shown");
+        assertEquals(List.of("Event log cleared.", "shown"), descriptions());
+    }
+
+    @Test
+    public void testSuppressionKeepsDisabledCategoriesDisabled() {
+        log.setEnabled(EventLog.Category.COMMUNITY, false);
+        EventLog.Suppression suppression = log.suppress(EventLog.Category.COMMUNITY);
+        assertFalse(log.isEnabled(EventLog.Category.COMMUNITY));
+        suppression.close();
+        assertFalse(log.isEnabled(EventLog.Category.COMMUNITY));
+    }
+
+    @Test
+    public void testSuppressionOnlyAppliesToItsThread() throws InterruptedException {
+        EventLog.Suppression suppression = log.suppress(EventLog.Category.TEAM);
+        try {
+            log.logEvent(EventLog.Category.TEAM, () -> "hidden");
+            Thread other = new Thread(() -> log.logEvent(EventLog.Category.TEAM, () -> "other thread"));
+            other.start();
+            other.join();
+        } finally {
+            suppression.close();
+        }
+        assertEquals(List.of("Event log cleared.", "other thread"), descriptions());
+    }
+
+    @Test
+    public void testOldestEventsOverwrittenWhenFull() {
+        log.setCapacity(4);
+        log.clear();
+        for (int i = 0; i < 10; i++) {
+            log.logEvent(new Event("event " + i));
+        }
+        assertEquals(List.of("event 6", "event 7", "event 8", "event 9"), descriptions());
+        assertEquals(7, log.getDroppedCount());
+    }
+
+    @Test
+    public void testSetCapacityRoundsUpAndKeepsRecentEvents() {
+        log.setCapacity(5);
+        assertEquals(8, log.getCapacity());
+        log.setCapacity(1);
+        assertEquals(1, log.getCapacity());
+        log.logEvent(new Event("first"));
+        log.logEvent(new Event("second"));
+        log.setCapacity(2);
+        log.logEvent(new Event("third"));
+        assertEquals(List.of("second", "third"), descriptions());
+    }
+
+    @Test
+    public void testSnapshotIsUnaffectedByLaterEvents() {
+        List<Event> snapshot = log.snapshot();
+        log.logEvent(new Event("later"));
+        assertEquals(1, snapshot.size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new Event("x")));
+    }
+
+    @Test
+    public void testConcurrentWritersAndReaders() throws InterruptedException {
+        log.setCapacity(64);
+        AtomicBoolean failed = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    log.logEvent(new Event("event " + i));
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            for (int i = 0; i < 500; i++) {
+                if (log.snapshot().size() > 64) {
+                    failed.set(true);
+                }
+            }
+        }));
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(failed.get());
+        assertEquals(64, log.snapshot().size());
+    }
+
+    private List<String> descriptions() {
+        List<String> result = new ArrayList<>();
+        Iterator<Event> iterator = log.iterator();
+        while (iterator.hasNext()) {
+            result.add(iterator.next().getDescription());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FormationRankerTest {
+
+    @Test
+    public void testRanksEveryFormationByChemistry() {
+        Team team = squad();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        List<SquadOptimizer.Result> ranked;
+        try {
+            ranked = new FormationRanker(pool, 500).rankFormations(team);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(Formation.getAllFormationTypes().size(), ranked.size());
+        assertRankedOrder(ranked);
+        SquadOptimizer.Result for433 = ranked.stream()
+                .filter(result -> result.getFormationType().equals("433")).findFirst().orElseThrow();
+        assertEquals(for433.getScore(), for433.toTeam("433 lineup").calculateChemistry());
+    }
+
+    @Test
+    public void testCutShortResultsRankAfterProvenOnes() {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        List<SquadOptimizer.Result> ranked;
+        try {
+            ranked = new FormationRanker(pool, 0).rankFormationsAsync(squad().getPlayers()).join();
+        } finally {
+            pool.shutdown();
+        }
+
+        assertTrue(ranked.stream().anyMatch(result -> !result.isExhaustive()));
+        assertRankedOrder(ranked);
+    }
+
+    @Test
+    public void testSquadTooSmallFillsNoFormation() {
+        Team team = new Team("Small", "433");
+        team.addPlayer(new Player("Keeper", "Spain", "LaLiga", "Club", "GK", "GK",
+                80, 80, 80, 80, 80, 80, 80, 3, 3, 1000, false));
+
+        assertTrue(new FormationRanker(500).rankFormations(team).isEmpty());
+    }
+
+    private Team squad() {
+        Team team = new Team("Squad", "433");
+        String[] positions = {"GK", "LB", "LCB", "RCB", "RB", "LCM", "CM", "RCM", "LW", "RW", "ST",
+            "CB", "CDM", "CAM", "LM", "RM", "GK", "ST", "CF", "LWB", "RWB", "CM", "CB"};
+        for (int i = 0; i < positions.length; i++) {
+            team.addPlayer(new Player("Player " + i, "Spain", "LaLiga", "Club " + (i % 3),
+                    positions[i], positions[i], 80, 80, 80, 80, 80, 80, 80, 3, 3, 1000, false));
+        }
+        return team;
+    }
+
+    // EFFECTS: Checks that proven optima come first and that scores never rise within either group
+    private void assertRankedOrder(List<SquadOptimizer.Result> ranked) {
+        for (int i = 1; i < ranked.size(); i++) {
+            SquadOptimizer.Result previous = ranked.get(i - 1);
+            SquadOptimizer.Result current = ranked.get(i);
+            assertFalse(current.isExhaustive() && !previous.isExhaustive());
+            if (current.isExhaustive() == previous.isExhaustive()) {
+                assertTrue(previous.getScore() >= current.getScore());
+            }
+        }
+    }
+}
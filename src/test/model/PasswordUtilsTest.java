@@ -1,5 +1,6 @@
 package model;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -7,12 +8,19 @@ import org.mockito.Mockito;
 import javax.crypto.SecretKeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 public class PasswordUtilsTest {
 
+    @BeforeEach
+    public void setUp() {
+        // Each test starts without a cached factory, so a mocked lookup is really made
+        PasswordUtils.discardThreadFactory();
+    }
+
     @Test
     public void testHashPassword() {
         String password = "password123";
@@ -145,4 +153,24 @@ public class PasswordUtilsTest {
             fail("Exception should not have been thrown by the mock setup");
         }
     }
+
+    @Test
+    public void testFactoryLookedUpOncePerThread() {
+        try (MockedStatic<SecretKeyFactory> mockedFactory = Mockito.mockStatic(SecretKeyFactory.class,
+                CALLS_REAL_METHODS)) {
+            String hash = PasswordUtils.hashPassword("password123");
+            assertTrue(PasswordUtils.verifyPassword("password123", hash));
+            assertFalse(PasswordUtils.verifyPassword("wrong", hash));
+            mockedFactory.verify(() -> SecretKeyFactory.getInstance("PBKDF2WithHmacSHA1"), times(1));
+        }
+    }
+
+    @Test
+    public void testHashFromAnotherThreadVerifies() throws InterruptedException {
+        AtomicReference<String> hash = new AtomicReference<>();
+        Thread thread = new Thread(() -> hash.set(PasswordUtils.hashPassword("password123")));
+        thread.start();
+        thread.join();
+        assertTrue(PasswordUtils.verifyPassword("password123", hash.get()));
+    }
 }
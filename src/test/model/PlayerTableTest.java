@@ -0,0 +1,87 @@
+package model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerTableTest {
+
+    private List<Player> players;
+    private PlayerTable table;
+
+    @BeforeEach
+    public void setUp() {
+        players = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            players.add(new Player("P" + i, "N", "L", "C", "ST", "ST", 50 + i % 50, 100 - i % 50, 70, 71, 72, 73,
+                    74, 1 + i % 5, 1 + i % 3, i * 1000, false));
+        }
+        table = new PlayerTable(players);
+    }
+
+    @Test
+    public void testColumnsMatchPlayers() {
+        assertEquals(200, table.size());
+        for (int row = 0; row < players.size(); row++) {
+            Player p = players.get(row);
+            assertSame(p, table.getPlayer(row));
+            assertEquals(p.getRating(), table.get(PlayerTable.Column.RATING, row));
+            assertEquals(p.getPace(), table.get(PlayerTable.Column.PACE, row));
+            assertEquals(p.getWeakFoot(), table.get(PlayerTable.Column.WEAK_FOOT, row));
+            assertEquals(p.getPrice(), table.get(PlayerTable.Column.PRICE, row));
+        }
+    }
+
+    @Test
+    public void testSelectAndRefine() {
+        int[] fast = table.select(PlayerTable.Column.PACE, 90, 255);
+        int[] fastAndGood = table.refine(fast, PlayerTable.Column.RATING, 85, 255);
+        List<Player> expected = new ArrayList<>();
+        for (Player p : players) {
+            if (p.getPace() >= 90 && p.getRating() >= 85) {
+                expected.add(p);
+            }
+        }
+        assertEquals(expected, table.getPlayers(fastAndGood));
+        assertEquals(0, table.select(PlayerTable.Column.RATING, 100, 255).length);
+        assertArrayEquals(new int[]{0, 1, 2}, table.select(PlayerTable.Column.PRICE, 0, 2000));
+    }
+
+    @Test
+    public void testAggregates() {
+        long ratingSum = 0;
+        for (Player p : players) {
+            ratingSum += p.getRating();
+        }
+        assertEquals(ratingSum, table.sum(PlayerTable.Column.RATING));
+        assertEquals(ratingSum / 200.0, table.average(PlayerTable.Column.RATING), 1e-9);
+        assertEquals(99, table.max(PlayerTable.Column.RATING));
+        assertEquals(50, table.min(PlayerTable.Column.RATING));
+        assertEquals(199000, table.max(PlayerTable.Column.PRICE));
+        assertEquals(40, table.count(PlayerTable.Column.SKILL_MOVES, 5, 5));
+        assertEquals(200, table.count(PlayerTable.Column.PRICE, 0, Integer.MAX_VALUE));
+
+        int[] rows = {0, 1, 2};
+        assertEquals(3000, table.sum(PlayerTable.Column.PRICE, rows));
+        assertEquals(1000.0, table.average(PlayerTable.Column.PRICE, rows), 1e-9);
+        assertEquals(0.0, table.average(PlayerTable.Column.PRICE, new int[0]));
+    }
+
+    @Test
+    public void testEmptyTable() {
+        PlayerTable empty = new PlayerTable(new ArrayList<>());
+        assertEquals(0, empty.size());
+        assertEquals(0, empty.select(PlayerTable.Column.RATING, 0, 255).length);
+        assertEquals(0.0, empty.average(PlayerTable.Column.PACE));
+    }
+
+    @Test
+    public void testRejectsValuesOutsideByteRange() {
+        List<Player> bad = List.of(new Player("X", "N", "L", "C", "ST", "ST", 256, 1, 1, 1, 1, 1, 1, 1, 1, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> new PlayerTable(bad));
+    }
+}
@@ -75,5 +75,15 @@ public class PlayerTests {
         assertFalse(player.isPositionCompatible());
     }
 
-   
+    @Test
+    public void testLinkAttributesAreInterned() {
+        Player other = new Player(new String("Player Two"), new String("Country A"), "league x", "CLUB ALPHA",
+                "ST", "ST", 80, 80, 80, 80, 80, 80, 80, 3, 3, 1000, false);
+        assertSame(player.getNationality(), other.getNationality());
+        assertEquals(player.getNationalityId(), other.getNationalityId());
+        assertEquals(player.getLeagueId(), other.getLeagueId());
+        assertEquals(player.getClubId(), other.getClubId());
+        assertEquals("league x", other.getLeague());
+        assertNotEquals(player.getNationalityId(), player.getLeagueId());
+    }
 }
@@ -0,0 +1,63 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PopularityLeaderboardTest {
+
+    @Test
+    public void testEmptyLeaderboard() {
+        PopularityLeaderboard leaderboard = new PopularityLeaderboard();
+        assertEquals(0, leaderboard.size());
+        assertTrue(leaderboard.page(0, 10).isEmpty());
+    }
+
+    @Test
+    public void testTiesKeepInsertionOrder() {
+        PopularityLeaderboard leaderboard = new PopularityLeaderboard();
+        Team first = new Team("First", "433");
+        Team second = new Team("Second", "433");
+        Team third = new Team("Third", "433");
+        third.setLikes(1);
+        leaderboard.add(first);
+        leaderboard.add(second);
+        leaderboard.add(third);
+        leaderboard.add(first);
+
+        assertEquals(List.of(third, first, second), leaderboard.page(0, 3));
+        assertEquals(List.of(first), leaderboard.page(1, 1));
+        assertEquals(List.of(second), leaderboard.page(2, 5));
+        assertTrue(leaderboard.page(3, 5).isEmpty());
+    }
+
+    @Test
+    public void testRandomUpdatesMatchFullSort() {
+        Random random = new Random(11);
+        PopularityLeaderboard leaderboard = new PopularityLeaderboard();
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Team team = new Team("Team " + i, "442");
+            team.setLikes(random.nextInt(20));
+            teams.add(team);
+            leaderboard.add(team);
+        }
+        for (int round = 0; round < 500; round++) {
+            Team team = teams.get(random.nextInt(teams.size()));
+            team.setLikes(random.nextInt(40));
+            leaderboard.update(team);
+        }
+        Team removed = teams.remove(17);
+        leaderboard.remove(removed);
+
+        List<Team> expected = new ArrayList<>(teams);
+        expected.sort(Comparator.comparingInt(Team::getLikes).reversed());
+        assertEquals(expected, leaderboard.page(0, leaderboard.size()));
+        assertEquals(expected.subList(50, 75), leaderboard.page(50, 25));
+    }
+}
@@ -0,0 +1,48 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PositionTest {
+
+    @Test
+    public void testFromName() {
+        assertEquals(Position.LCB, Position.fromName("LCB"));
+        assertEquals(Position.RAM, Position.fromName(" ram "));
+        assertNull(Position.fromName("XYZ"));
+        assertNull(Position.fromName(null));
+    }
+
+    @Test
+    public void testBasePositions() {
+        assertEquals(Position.CB, Position.LCB.getBase());
+        assertEquals(Position.CAM, Position.RAM.getBase());
+        assertEquals(Position.ST, Position.LST.getBase());
+        assertEquals(Position.CDM, Position.RDM.getBase());
+        assertEquals(Position.GK, Position.GK.getBase());
+    }
+
+    @Test
+    public void testCompatibilityMatchesTable() {
+        assertTrue(Position.RB.isCompatibleWith(Position.CB));
+        assertTrue(Position.CF.isCompatibleWith(Position.CAM));
+        assertFalse(Position.CB.isCompatibleWith(Position.CM));
+        assertFalse(Position.ST.isCompatibleWith(null));
+    }
+
+    @Test
+    public void testFormationSlotsHaveNoCompatiblePositions() {
+        assertFalse(Position.LCB.isCompatibleWith(Position.CB));
+        assertFalse(Position.CB.isCompatibleWith(Position.LCB));
+    }
+
+    @Test
+    public void testEveryFormationSlotIsAPosition() {
+        for (String formationType : Formation.getAllFormationTypes()) {
+            for (String position : new Formation(formationType).getRequiredPositions()) {
+                assertNotNull(Position.fromName(position), position);
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SquadOptimizerTest {
+    private static final String[] POSITIONS_433 = {
+        "GK", "LB", "LCB", "RCB", "RB", "LCM", "CM", "RCM", "LW", "RW", "ST"
+    };
+
+    @Test
+    public void testFindsSameClubLineupWithUnlimitedBudget() {
+        Formation formation = new Formation("433");
+        List<Player> pool = new ArrayList<>();
+        for (String position : POSITIONS_433) {
+            pool.add(player(position + " Star", position, "Real Madrid", 85, 50000));
+            pool.add(player(position + " Other", position, "Club " + position, 88, 40000));
+        }
+        SquadOptimizer.Result result = new SquadOptimizer(SquadOptimizer.Objective.CHEMISTRY, 5000)
+                .optimize(pool, formation, Integer.MAX_VALUE);
+
+        int expected = 11 * ChemistryEngine.PREFERRED_POSITION_CHEMISTRY
+                + formation.getChemistryEngine().getEdgeCount() * ChemistryEngine.SAME_CLUB_LINK;
+        assertTrue(result.isFound());
+        assertTrue(result.isExhaustive());
+        assertEquals(expected, result.getScore());
+        assertEquals(expected, result.toTeam("Optimized").calculateChemistry());
+        assertEquals(11 * 50000, result.getTotalPrice());
+    }
+
+    @Test
+    public void testRespectsBudget() {
+        List<Player> pool = new ArrayList<>();
+        for (String position : POSITIONS_433) {
+            pool.add(player(position + " Star", position, "Real Madrid", 85, 50000));
+            pool.add(player(position + " Cheap", position, "Club " + position, 70, 1000));
+        }
+        SquadOptimizer.Result result = new SquadOptimizer(SquadOptimizer.Objective.CHEMISTRY, 5000)
+                .optimize(pool, new Formation("433"), 100000);
+
+        assertTrue(result.isFound());
+        assertTrue(result.getTotalPrice() <= 100000);
+        assertEquals(11, result.getLineup().size());
+    }
+
+    @Test
+    public void testNoLineupWhenBudgetTooSmall() {
+        List<Player> pool = new ArrayList<>();
+        for (String position : POSITIONS_433) {
+            pool.add(player(position + " Star", position, "Real Madrid", 85, 50000));
+        }
+        SquadOptimizer.Result result = new SquadOptimizer(SquadOptimizer.Objective.CHEMISTRY, 5000)
+                .optimize(pool, new Formation("433"), 10000);
+
+        assertFalse(result.isFound());
+        assertEquals(0, result.getScore());
+    }
+
+    @Test
+    public void testRatingObjectivePicksHighestRatedPlayers() {
+        List<Player> pool = new ArrayList<>();
+        for (String position : POSITIONS_433) {
+            pool.add(player(position + " Star", position, "Real Madrid", 80, 1000));
+            pool.add(player(position + " Best", position, "Club " + position, 90, 1000));
+        }
+        SquadOptimizer.Result result = new SquadOptimizer(SquadOptimizer.Objective.RATING, 5000)
+                .optimize(pool, new Formation("433"), Integer.MAX_VALUE);
+
+        assertEquals(11 * 90, result.getScore());
+        for (Player player : result.getLineup()) {
+            assertTrue(player.getName().endsWith("Best"));
+        }
+    }
+
+    @Test
+    public void testDoesNotUseTheSamePlayerTwice() {
+        List<Player> pool = new ArrayList<>();
+        for (String position : POSITIONS_433) {
+            pool.add(player(position + " Star", position, "Real Madrid", 85, 1000));
+        }
+        // Same name as the ST card, preferred at CB; it is out of position in every 433 slot (a CB card does not
+        // match the LCB and RCB slots) but, like any affordable player, it is still a candidate for all of them
+        pool.add(player("ST Star", "CB", "Real Madrid", 85, 1000));
+        SquadOptimizer.Result result = new SquadOptimizer(SquadOptimizer.Objective.CHEMISTRY, 5000)
+                .optimize(pool, new Formation("433"), Integer.MAX_VALUE);
+
+        long distinctNames = result.getLineup().stream().map(Player::getName).distinct().count();
+        assertEquals(11, distinctNames);
+    }
+
+    @Test
+    public void testPlaysSomeoneOutOfPositionWhenThatIsTheOnlyFeasibleLineup() {
+        List<Player> pool = new ArrayList<>();
+        for (String position : POSITIONS_433) {
+            pool.add(player(position + " Star", position, "Real Madrid", 85, position.equals("GK") ? 5000 : 1000));
+        }
+        // Suits no 433 slot, but is the only way to stay within budget in goal
+        pool.add(player("Extra", "CAM", "Real Madrid", 70, 1000));
+        SquadOptimizer.Result result = new SquadOptimizer(SquadOptimizer.Objective.CHEMISTRY, 5000)
+                .optimize(pool, new Formation("433"), 11000);
+
+        assertTrue(result.isFound());
+        assertTrue(result.isExhaustive());
+        assertEquals(11000, result.getTotalPrice());
+        Player keeper = result.getLineup().stream().filter(p -> p.getCurrentPosition().equals("GK"))
+                .findFirst().orElseThrow();
+        assertEquals("Extra", keeper.getName());
+    }
+
+    @Test
+    public void testReturnsBestSoFarWhenDeadlineHits() {
+        assertFinishesNearBudget(10000, 100);
+    }
+
+    @Test
+    public void testHonoursBudgetOnVeryLargePool() {
+        assertFinishesNearBudget(50000, 200);
+    }
+
+    @Test
+    public void testLargePoolIsNeverReportedExhaustive() {
+        SquadOptimizer.Result result = new SquadOptimizer(SquadOptimizer.Objective.RATING, 5000)
+                .optimize(randomPool(1000), new Formation("433"), Integer.MAX_VALUE);
+
+        assertTrue(result.isFound());
+        assertFalse(result.isExhaustive());
+    }
+
+    private void assertFinishesNearBudget(int poolSize, long budgetMillis) {
+        List<Player> pool = randomPool(poolSize);
+        long start = System.nanoTime();
+        SquadOptimizer.Result result = new SquadOptimizer(SquadOptimizer.Objective.CHEMISTRY, budgetMillis)
+                .optimize(pool, new Formation("433"), 200000);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 3 * budgetMillis, "took " + elapsedMillis + " ms");
+        assertTrue(result.isFound());
+        assertTrue(result.getTotalPrice() <= 200000);
+    }
+
+    private List<Player> randomPool(int size) {
+        Random random = new Random(3);
+        String[] clubs = {"Arsenal", "Inter", "Napoli", "Ajax", "Porto"};
+        List<Player> pool = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            String position = POSITIONS_433[random.nextInt(POSITIONS_433.length)];
+            pool.add(player("Player " + i, position, clubs[random.nextInt(clubs.length)],
+                    60 + random.nextInt(35), 500 + random.nextInt(50000)));
+        }
+        return pool;
+    }
+
+    private Player player(String name, String position, String club, int rating, int price) {
+        String nation = "Nation " + club;
+        return new Player(name, nation, "League", club, position, position,
+                rating, 80, 80, 80, 80, 80, 80, 3, 3, price, false);
+    }
+}
@@ -187,4 +187,51 @@ public class TeamRepositoryTest {
     public void testAddTeamToCommunityNullTeam() {
         assertDoesNotThrow(() -> repository.addTeamToCommunity(null), "Method should handle null input gracefully");
     }
+
+    @Test
+    public void testSearchTeamsPlayerNameIsCaseInsensitive() {
+        List<Team> searchResults = repository.searchTeams(Integer.MAX_VALUE, 0.0, "player 12");
+        assertEquals(1, searchResults.size());
+        assertTrue(searchResults.contains(team2));
+    }
+
+    @Test
+    public void testSearchTeamsWithoutPlayerReturnsListingOrder() {
+        List<Team> byRating = repository.searchTeams(Integer.MAX_VALUE, 0.0, "");
+        assertEquals(List.of(team1, team2), byRating);
+        List<Team> byBudget = repository.searchTeams(team2.getTotalPrice(), 0.0, null);
+        assertEquals(List.of(team1, team2), byBudget);
+    }
+
+    @Test
+    public void testSearchTeamsSeesRosterChangesAfterListing() {
+        Player removed = team1.getPlayers().get(0);
+        assertTrue(team1.removePlayer(removed));
+        assertTrue(repository.searchTeams(Integer.MAX_VALUE, 0.0, removed.getName()).isEmpty());
+
+        Player star = new Player("New Star", "Country X", "League Y", "Club Z",
+                "ST", "ST", 99, 80, 80, 80, 80, 80, 80, 3, 3, 9000000, false);
+        team1.addPlayer(star);
+        assertEquals(List.of(team1), repository.searchTeams(Integer.MAX_VALUE, 0.0, "New Star"));
+        assertFalse(repository.searchTeamsByBudget(team1.getTotalPrice() - 1).contains(team1));
+    }
+
+    @Test
+    public void testAddTeamToCommunityTwiceListsItOnce() {
+        repository.addTeamToCommunity(team1);
+        assertEquals(2, repository.getAllCommunityTeams().size());
+        assertEquals(1, repository.searchTeams(Integer.MAX_VALUE, 0.0, "Player 1").size());
+    }
+
+    @Test
+    public void testGetTeamsByPopularityPagesWithoutReordering() {
+        team2.likeTeam();
+        List<Team> firstPage = repository.getTeamsByPopularity(0, 1);
+        assertEquals(List.of(team2), firstPage);
+        assertEquals(List.of(team1), repository.getTeamsByPopularity(1, 1));
+        assertEquals(List.of(team1, team2), repository.getAllCommunityTeams());
+
+        team1.setLikes(5);
+        assertEquals(List.of(team1, team2), repository.getTeamsByPopularity());
+    }
 }
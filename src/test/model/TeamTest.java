@@ -101,6 +101,31 @@ public class TeamTest {
         assertEquals(0, team.getStartingPlayers().size());
     }
 
+    @Test
+    public void testStarterPositionChangesKeepChemistryCurrent() {
+        addStartingPlayersToTeam();
+        Player striker = team.getStartingPlayers().stream().filter(p -> p.getCurrentPosition().equals("ST"))
+                .findFirst().orElseThrow();
+        int before = team.calculateChemistry();
+
+        striker.setPreferredPosition("GK");
+        assertEquals(before - ChemistryEngine.PREFERRED_POSITION_CHEMISTRY + ChemistryEngine.WRONG_POSITION_CHEMISTRY,
+                team.calculateChemistry());
+        assertEquals(fullChemistry(), team.calculateChemistry());
+
+        striker.setPreferredPosition("ST");
+        assertEquals(before, team.calculateChemistry());
+
+        striker.setCurrentPosition("CAM");
+        assertFalse(striker.isInStarting11());
+        assertEquals(10, team.getStartingPlayerCount());
+        assertFalse(team.getStartingPlayers().contains(striker));
+
+        team.removePlayer(striker);
+        striker.setCurrentPosition("ST");
+        assertEquals(10, team.getStartingPlayerCount());
+    }
+
     @Test
     public void testIsStartingLineupComplete() {
         // Add players to team and set in starting 11
@@ -129,6 +154,30 @@ public class TeamTest {
         assertEquals(0, chemistry); // Chemistry should be 0 for incomplete lineup
     }
 
+    @Test
+    public void testSetPlayerInStarting11_DisplacesOccupant() {
+        Player otherStriker = new Player(
+                "Other Striker", "Country A", "League X", "Club Alpha",
+                "ST", "ST", 84, 80, 75, 85, 82, 60, 70,
+                4, 5, 500000, false
+        );
+        team.addPlayer(player1);
+        team.addPlayer(otherStriker);
+        assertTrue(team.setPlayerInStarting11(player1, true));
+        assertTrue(team.setPlayerInStarting11(otherStriker, true));
+        assertFalse(player1.isInStarting11());
+        assertEquals(1, team.getStartingPlayers().size());
+    }
+
+    @Test
+    public void testRemovePlayer_StarterLeavesLineup() {
+        addStartingPlayersToTeam();
+        Player goalkeeper = team.getStartingPlayers().get(0);
+        assertTrue(team.removePlayer(goalkeeper));
+        assertFalse(team.isStartingLineupComplete());
+        assertEquals(0, team.calculateChemistry());
+    }
+
     @Test
     public void testRemovePlayer() {
         team.addPlayer(player1);
@@ -154,6 +203,43 @@ public class TeamTest {
         assertEquals(83.5, team.getAverageRating(), 0.01);
     }
 
+    @Test
+    public void testAggregatesFollowRosterChanges() {
+        team.addPlayer(player1);
+        team.addPlayer(player2);
+        team.addPlayer(player3);
+        assertEquals(2, team.getNationalityCount("country a"));
+        assertEquals(2, team.getLeagueCount("League X"));
+        assertEquals(2, team.getClubCount("Club Beta"));
+        assertEquals(1350000, team.getTotalPrice());
+
+        team.removePlayer(player2);
+        assertEquals(1, team.getNationalityCount("Country A"));
+        assertEquals(1, team.getClubCount("Club Beta"));
+        assertEquals(0, team.getClubCount("Club Gamma"));
+        assertEquals(900000, team.getTotalPrice());
+        assertEquals(82.5, team.getAverageRating(), 0.01);
+        assertFalse(team.hasPlayer("player two"));
+        assertTrue(team.hasPlayer("PLAYER ONE"));
+    }
+
+    @Test
+    public void testStartingAndSubstituteViewsFollowLineupChanges() {
+        team.addPlayer(player1);
+        team.addPlayer(player2);
+        assertEquals(0, team.getStartingPlayerCount());
+        assertEquals(2, team.getSubstitutes().size());
+
+        team.setPlayerInStarting11(player1, true);
+        assertEquals(List.of(player1), team.getStartingPlayers());
+        assertEquals(List.of(player2), team.getSubstitutes());
+        assertEquals(1, team.getStartingPlayerCount());
+
+        team.setPlayerInStarting11(player1, false);
+        assertTrue(team.getStartingPlayers().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> team.getSubstitutes().add(player3));
+    }
+
     @Test
     public void testLikeTeam() {
         assertEquals(0, team.getLikes());
@@ -188,6 +274,16 @@ public class TeamTest {
     }
 
     // Helper method to add starting players matching the formation
+    // EFFECTS: Scores the team's starters from scratch
+    private int fullChemistry() {
+        ChemistryEngine engine = team.getFormation().getChemistryEngine();
+        Player[] lineup = engine.newLineup();
+        for (Player starter : team.getStartingPlayers()) {
+            lineup[engine.getSlotIndex(starter.getCurrentPosition())] = starter;
+        }
+        return engine.score(lineup);
+    }
+
     private void addStartingPlayersToTeam() {
         // Positions required by the "433" formation
         String[] positions = {"GK", "LB", "LCB", "RCB", "RB", "LCM", "CM", "RCM", "LW", "RW", "ST"};
@@ -4,6 +4,14 @@ package model;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class UserManagerTest {
@@ -47,6 +55,51 @@ public class UserManagerTest {
         });
     }
 
+    @Test
+    public void testSignUpAsyncAndLoginAsync() {
+        User user = userManager.signUpAsync("john_doe", "password123").join();
+        assertEquals("john_doe", user.getUsername());
+        assertSame(user, userManager.getUser("john_doe"));
+        assertSame(user, userManager.loginAsync("john_doe", "password123").join());
+        assertEquals(2, userManager.getAuthCount());
+        assertTrue(userManager.getLastAuthLatencyMillis() > 0);
+        assertTrue(userManager.getAverageAuthLatencyMillis() > 0);
+        assertEquals(0, userManager.getAuthQueueDepth());
+        assertEquals(0, userManager.getRejectedAuthCount());
+    }
+
+    @Test
+    public void testAuthMetricsBeforeAnyAsyncCall() {
+        assertEquals(0, userManager.getAuthQueueDepth());
+        assertEquals(0, userManager.getAuthCount());
+        assertEquals(0, userManager.getRejectedAuthCount());
+        assertEquals(0.0, userManager.getLastAuthLatencyMillis());
+        assertEquals(0.0, userManager.getAverageAuthLatencyMillis());
+    }
+
+    @Test
+    public void testAsyncFailures() {
+        userManager.signUp("john_doe", "password123");
+        assertAsyncFails("Incorrect password.", userManager.loginAsync("john_doe", "wrongpassword"));
+        assertAsyncFails("User does not exist.", userManager.loginAsync("nonexistent", "password"));
+        assertAsyncFails("Username already taken.", userManager.signUpAsync("john_doe", "newpassword"));
+    }
+
+    @Test
+    public void testConcurrentSignUpsOfSameNameCreateOneUser() {
+        CompletableFuture<User> first = userManager.signUpAsync("john_doe", "one");
+        CompletableFuture<User> second = userManager.signUpAsync("john_doe", "two");
+        CompletableFuture.allOf(first, second).exceptionally(e -> null).join();
+        assertTrue(first.isCompletedExceptionally() != second.isCompletedExceptionally());
+        assertEquals(1, userManager.getAllUsers().size());
+    }
+
+    private void assertAsyncFails(String message, CompletableFuture<User> future) {
+        CompletionException e = assertThrows(CompletionException.class, future::join);
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+        assertEquals(message, e.getCause().getMessage());
+    }
+
     @Test
     public void testLoginNonExistentUser() {
         assertThrows(IllegalArgumentException.class, () -> {
@@ -68,7 +121,11 @@ public class UserManagerTest {
         userManager.signUp("jane_smith", "password456");
 
         // Save users
-        userManager.saveUsers();
+        assertEquals(0, userManager.getSaveCount());
+        assertTrue(userManager.saveUsers());
+        assertEquals(1, userManager.getSaveCount());
+        assertTrue(userManager.getLastSaveDurationMillis() > 0);
+        assertEquals(userManager.getLastSaveDurationMillis(), userManager.getAverageSaveDurationMillis(), 1e-9);
 
         // Create a new UserManager and load users
         UserManager newUserManager = new UserManager();
@@ -78,4 +135,135 @@ public class UserManagerTest {
         assertNotNull(newUserManager.login("john_doe", "password123"));
         assertNotNull(newUserManager.login("jane_smith", "password456"));
     }
+
+    @Test
+    public void testImportUsersHashesAndSavesOnce() throws IOException {
+        String usersFile = "./data/testImportUsers.json";
+        String importFile = "./data/testImport.csv";
+        Files.deleteIfExists(Paths.get(usersFile));
+        Files.write(Paths.get(importFile), "username,password\nanna,pw1\nben,pw,2\n\ncarl,pw3\n".getBytes());
+        try {
+            UserManager manager = new UserManager(usersFile, "./data/testImportUsers.journal", 4);
+            ImportReport report = manager.importUsers(importFile);
+            assertEquals(3, report.getImportedCount());
+            assertTrue(report.isSaved());
+            assertTrue(report.getHashingMillis() > 0);
+            assertTrue(report.getUsersPerSecond() > 0);
+            assertEquals(1, manager.getSaveCount());
+
+            UserManager reloaded = new UserManager(usersFile, "./data/testImportUsers.journal", 4);
+            reloaded.loadUsers();
+            assertNotNull(reloaded.login("ben", "pw,2"));
+            assertNotNull(reloaded.login("carl", "pw3"));
+        } finally {
+            Files.deleteIfExists(Paths.get(usersFile));
+            Files.deleteIfExists(Paths.get(importFile));
+        }
+    }
+
+    @Test
+    public void testConcurrentSavesLeaveAReadableFile() throws IOException, InterruptedException {
+        String usersFile = "./data/testConcurrentSaves.json";
+        try {
+            UserManager manager = new UserManager(usersFile, "./data/testConcurrentSaves.journal", 4);
+            for (int i = 0; i < 50; i++) {
+                manager.signUp("user" + i, "pw");
+            }
+            Thread[] savers = new Thread[4];
+            for (int t = 0; t < savers.length; t++) {
+                savers[t] = new Thread(() -> {
+                    for (int i = 0; i < 10; i++) {
+                        manager.saveUsers();
+                    }
+                });
+                savers[t].start();
+            }
+            for (Thread saver : savers) {
+                saver.join();
+            }
+
+            assertEquals(40, manager.getSaveCount());
+            UserManager reloaded = new UserManager(usersFile, "./data/testConcurrentSaves.journal", 4);
+            reloaded.loadUsers();
+            assertEquals(50, reloaded.getAllUsers().size());
+        } finally {
+            Files.deleteIfExists(Paths.get(usersFile));
+        }
+    }
+
+    @Test
+    public void testImportUsersRejectsDuplicatesBeforeHashing() {
+        userManager.signUp("john_doe", "password123");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () ->
+                userManager.importUsers(List.of(Map.entry("anna", "a"), Map.entry("john_doe", "b"),
+                        Map.entry("ben", ""), Map.entry("anna", "c"))));
+        assertEquals("Import rejected: empty username or password for ben; usernames already taken or repeated: "
+                + "anna, john_doe", e.getMessage());
+        assertEquals(1, userManager.getAllUsers().size());
+        assertEquals(0, userManager.getSaveCount());
+    }
+
+    @Test
+    public void testImportRollsBackWhenNameTakenDuringImport() {
+        User taken = userManager.signUp("ben", "password123");
+        List<Map.Entry<String, String>> credentials = List.of(Map.entry("anna", "a"), Map.entry("ben", "b"),
+                Map.entry("carl", "c"));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> userManager.addAllNewUsers(credentials, new String[] {"h1", "h2", "h3"}));
+        assertEquals("Import rejected: username taken during import: ben", e.getMessage());
+        assertEquals(1, userManager.getAllUsers().size());
+        assertSame(taken, userManager.getUser("ben"));
+    }
+
+    @Test
+    public void testJournalRecordsChangesAndCompacts() throws IOException {
+        String usersFile = "./data/testJournalUsers.json";
+        String journalFile = "./data/testJournalUsers.journal";
+        Files.deleteIfExists(Paths.get(usersFile));
+        Files.deleteIfExists(Paths.get(journalFile));
+        try {
+            UserManager manager = new UserManager(usersFile, journalFile, 4);
+            assertTrue(manager.openJournal());
+            User user = manager.signUp("john_doe", "password123");
+            assertTrue(manager.recordSignUp(user));
+            Team team = new Team("John XI", "433");
+            user.addTeam(team);
+            assertTrue(manager.recordTeamCreated(user, team));
+            team.likeTeam();
+            assertTrue(manager.recordLikes(team));
+            assertEquals(3, manager.getJournalSize());
+            assertFalse(Files.exists(Paths.get(usersFile)));
+
+            team.setListed(true);
+            assertTrue(manager.recordTeamListed(user, team));
+            assertEquals(0, manager.getJournalSize());
+            assertTrue(Files.exists(Paths.get(usersFile)));
+
+            team.likeTeam();
+            assertTrue(manager.recordLikes(team));
+            assertEquals(1, manager.getJournalSize());
+
+            UserManager reloaded = new UserManager(usersFile, journalFile, 4);
+            reloaded.loadUsers();
+            assertTrue(reloaded.openJournal());
+            Team reloadedTeam = reloaded.getUser("john_doe").getTeamByName("John XI");
+            assertTrue(reloadedTeam.isListed());
+            assertEquals(2, reloadedTeam.getLikes());
+            assertTrue(reloaded.closeJournal());
+            manager.closeJournal();
+        } finally {
+            Files.deleteIfExists(Paths.get(usersFile));
+            Files.deleteIfExists(Paths.get(journalFile));
+        }
+    }
+
+    @Test
+    public void testRecordWithoutJournalSavesSnapshot() {
+        User user = userManager.signUp("john_doe", "password123");
+        assertTrue(userManager.recordSignUp(user));
+        assertEquals(1, userManager.getSaveCount());
+        assertEquals(0, userManager.getJournalSize());
+        assertTrue(userManager.recordLikes(new Team("Nobody's XI", "433")));
+        assertEquals(1, userManager.getSaveCount());
+    }
 }
@@ -0,0 +1,193 @@
+package persistence;
+
+import model.Player;
+import model.Team;
+import model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinarySnapshotTest {
+
+    private static final String BINARY_FILE = "./data/testUsers.bin";
+    private static final String JSON_FILE = "./data/testBinaryUsers.json";
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(BINARY_FILE));
+        Files.deleteIfExists(Paths.get(JSON_FILE));
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        write(sampleUsers(3));
+
+        List<User> users = new ArrayList<>();
+        new BinarySnapshotReader(BINARY_FILE).readEach(users::add);
+
+        assertEquals(3, users.size());
+        User user = users.get(1);
+        assertEquals("user1", user.getUsername());
+        assertEquals("hash1", user.getPasswordHash());
+        Team team = user.getTeamByName("Team 1");
+        assertEquals("433", team.getFormation().getFormationType());
+        assertEquals(7, team.getLikes());
+        assertTrue(team.isListed());
+        assertEquals(11, team.getPlayers().size());
+        assertTrue(team.isStartingLineupComplete());
+
+        Player player = team.getPlayers().get(0);
+        assertEquals("Player 1-0", player.getName());
+        assertEquals("Club 0", player.getClubAffiliation());
+        assertEquals("GK", player.getCurrentPosition());
+        assertEquals(80, player.getRating());
+        assertEquals(250000, player.getPrice());
+    }
+
+    @Test
+    public void testDictionaryStringsAreShared() throws IOException {
+        write(sampleUsers(2));
+
+        List<User> users = new ArrayList<>();
+        new BinarySnapshotReader(BINARY_FILE).readEach(users::add);
+
+        Player first = users.get(0).getTeams().get(0).getPlayers().get(0);
+        Player second = users.get(1).getTeams().get(0).getPlayers().get(0);
+        assertSame(first.getLeague(), second.getLeague());
+    }
+
+    @Test
+    public void testLargeAndNegativeNumbers() throws IOException {
+        User user = new User("big", "hash", null);
+        Team team = new Team("Big XI", "433");
+        team.setLikes(-3);
+        team.addPlayer(new Player("Rich", "", "", "", "GK", "GK", 99, 1, 1, 1, 1, 1, 1, 1, 1,
+                Integer.MAX_VALUE, false));
+        user.addTeam(team);
+        write(List.of(user));
+
+        Team read = new BinarySnapshotReader(BINARY_FILE).read().getUser("big").getTeamByName("Big XI");
+        assertEquals(-3, read.getLikes());
+        assertEquals(Integer.MAX_VALUE, read.getPlayers().get(0).getPrice());
+        assertEquals("", read.getPlayers().get(0).getNationality());
+    }
+
+    @Test
+    public void testMissingAttributesRoundTripAsNull() throws IOException {
+        User user = new User("sparse", "hash", null);
+        Team team = new Team("Sparse XI", "433");
+        team.addPlayer(new Player("Unknown", null, null, null, null, "GK", 60, 1, 1, 1, 1, 1, 1, 1, 1, 500, false));
+        team.addPlayer(new Player("Known", "Spain", "LaLiga", "Club", "ST", "ST", 60, 1, 1, 1, 1, 1, 1, 1, 1, 500,
+                false));
+        user.addTeam(team);
+        write(List.of(user));
+
+        List<Player> players = new BinarySnapshotReader(BINARY_FILE).read().getUser("sparse")
+                .getTeamByName("Sparse XI").getPlayers();
+        assertNull(players.get(0).getNationality());
+        assertNull(players.get(0).getLeague());
+        assertNull(players.get(0).getClubAffiliation());
+        assertNull(players.get(0).getPreferredPosition());
+        assertEquals("GK", players.get(0).getCurrentPosition());
+        assertEquals("Spain", players.get(1).getNationality());
+        assertEquals("Club", players.get(1).getClubAffiliation());
+    }
+
+    @Test
+    public void testMissingNameIsReportedBeforeAnythingIsReplaced() throws IOException {
+        write(sampleUsers(1));
+        byte[] before = Files.readAllBytes(Paths.get(BINARY_FILE));
+        User user = new User("nameless", "hash", null);
+        user.addTeam(new Team(null, "433"));
+
+        BinarySnapshotWriter writer = new BinarySnapshotWriter(BINARY_FILE);
+        writer.open();
+        IOException e = assertThrows(IOException.class, () -> writer.writeAllUsers(List.of(user)));
+        writer.abort();
+
+        assertEquals("Cannot write snapshot: a team of user nameless has no name", e.getMessage());
+        assertArrayEquals(before, Files.readAllBytes(Paths.get(BINARY_FILE)));
+        assertFalse(TestUtils.hasTempFiles(BINARY_FILE));
+    }
+
+    @Test
+    public void testReadsVersionOneSnapshot() throws IOException {
+        // Version 1: dictionary ["433"], one user "u"/"h" with team "T" (formation index 0) and no players
+        Files.write(Paths.get(BINARY_FILE), new byte[]{0x46, 0x55, 0x54, 0x42, 1, 1, 3, '4', '3', '3', 1,
+            1, 'u', 1, 'h', 1, 1, 'T', 0, 2, 0, 0});
+
+        Team team = new BinarySnapshotReader(BINARY_FILE).read().getUser("u").getTeamByName("T");
+        assertEquals("433", team.getFormation().getFormationType());
+        assertEquals(2, team.getLikes());
+    }
+
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        TestUtils.writeStringToFile(BINARY_FILE, "{ \"users\": [] }");
+        assertThrows(IOException.class, () -> new BinarySnapshotReader(BINARY_FILE).read());
+    }
+
+    @Test
+    public void testRejectsUnknownVersion() throws IOException {
+        Files.write(Paths.get(BINARY_FILE), new byte[]{0x46, 0x55, 0x54, 0x42, 9, 0, 0});
+        IOException e = assertThrows(IOException.class, () -> new BinarySnapshotReader(BINARY_FILE).read());
+        assertTrue(e.getMessage().contains("version 9"));
+    }
+
+    @Test
+    public void testRejectsTruncatedFile() throws IOException {
+        write(sampleUsers(1));
+        byte[] bytes = Files.readAllBytes(Paths.get(BINARY_FILE));
+        Files.write(Paths.get(BINARY_FILE), java.util.Arrays.copyOf(bytes, bytes.length / 2));
+        assertThrows(IOException.class, () -> new BinarySnapshotReader(BINARY_FILE).read());
+    }
+
+    @Test
+    public void testConvertsBothWaysAndIsSmaller() throws IOException {
+        JsonWriter jsonWriter = new JsonWriter(JSON_FILE);
+        jsonWriter.open();
+        jsonWriter.writeAllUsers(sampleUsers(20));
+        jsonWriter.close();
+
+        assertEquals(20, SnapshotConverter.jsonToBinary(JSON_FILE, BINARY_FILE));
+        assertTrue(Files.size(Paths.get(BINARY_FILE)) * 5 < Files.size(Paths.get(JSON_FILE)));
+
+        Files.delete(Paths.get(JSON_FILE));
+        assertEquals(20, SnapshotConverter.binaryToJson(BINARY_FILE, JSON_FILE));
+        User user = new JsonReader(JSON_FILE).read().getUser("user19");
+        assertEquals(11, user.getTeamByName("Team 19").getPlayers().size());
+    }
+
+    private void write(List<User> users) throws IOException {
+        BinarySnapshotWriter writer = new BinarySnapshotWriter(BINARY_FILE);
+        writer.open();
+        writer.writeAllUsers(users);
+        writer.close();
+        assertFalse(TestUtils.hasTempFiles(BINARY_FILE));
+    }
+
+    private List<User> sampleUsers(int count) {
+        String[] positions = {"GK", "LB", "LCB", "RCB", "RB", "LCM", "CM", "RCM", "LW", "RW", "ST"};
+        List<User> users = new ArrayList<>();
+        for (int u = 0; u < count; u++) {
+            User user = new User("user" + u, "hash" + u, null);
+            Team team = new Team("Team " + u, "433");
+            team.setLikes(7);
+            team.setListed(true);
+            for (int i = 0; i < positions.length; i++) {
+                team.addPlayer(new Player("Player " + u + "-" + i, "Country " + (i % 3), "League", "Club " + (i % 4),
+                        positions[i], positions[i], 80, 70, 71, 72, 73, 74, 75, 4, 3, 250000, true));
+            }
+            user.addTeam(team);
+            users.add(user);
+        }
+        return users;
+    }
+}
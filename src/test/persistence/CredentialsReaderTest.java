@@ -0,0 +1,68 @@
+package persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CredentialsReaderTest {
+
+    private static final String CSV_FILE = "./data/testCredentials.csv";
+    private static final String JSON_FILE = "./data/testCredentials.json";
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(CSV_FILE));
+        Files.deleteIfExists(Paths.get(JSON_FILE));
+    }
+
+    @Test
+    public void testReadCsv() throws IOException {
+        TestUtils.writeStringToFile(CSV_FILE, "Username,Password\r\n a ,one\r\n\r\nb,two, three\r\na,again\r\n");
+        List<Map.Entry<String, String>> credentials = new CredentialsReader(CSV_FILE).read();
+        assertEquals(List.of(Map.entry("a", "one"), Map.entry("b", "two, three"), Map.entry("a", "again")),
+                credentials);
+    }
+
+    @Test
+    public void testReadCsvWithoutHeader() throws IOException {
+        TestUtils.writeStringToFile(CSV_FILE, "a,one");
+        assertEquals(List.of(Map.entry("a", "one")), new CredentialsReader(CSV_FILE).read());
+    }
+
+    @Test
+    public void testReadCsvLineWithoutComma() {
+        TestUtils.writeStringToFile(CSV_FILE, "a,one\nb\n");
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new CredentialsReader(CSV_FILE).read());
+        assertEquals("Line 2 is not a username,password pair.", e.getMessage());
+    }
+
+    @Test
+    public void testReadJsonArrayOrUsersObject() throws IOException {
+        TestUtils.writeStringToFile(JSON_FILE, "[{\"username\": \"a\", \"password\": \"one\"}]");
+        assertEquals(List.of(Map.entry("a", "one")), new CredentialsReader(JSON_FILE).read());
+
+        TestUtils.writeStringToFile(JSON_FILE, "{\"users\": [{\"password\": \"two\", \"username\": \"b\"}]}");
+        assertEquals(List.of(Map.entry("b", "two")), new CredentialsReader(JSON_FILE).read());
+    }
+
+    @Test
+    public void testReadMalformedJson() {
+        TestUtils.writeStringToFile(JSON_FILE, "[{\"username\": \"a\"}]");
+        assertThrows(IllegalArgumentException.class, () -> new CredentialsReader(JSON_FILE).read());
+        TestUtils.writeStringToFile(JSON_FILE, "\"just a string\"");
+        assertThrows(IllegalArgumentException.class, () -> new CredentialsReader(JSON_FILE).read());
+    }
+
+    @Test
+    public void testReadMissingFile() {
+        assertThrows(IOException.class, () -> new CredentialsReader("./data/noSuchFile.csv").read());
+    }
+}
@@ -0,0 +1,121 @@
+package persistence;
+
+import model.Formation;
+import model.Player;
+import model.Team;
+import model.User;
+import model.UserManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DatasetGeneratorTest {
+
+    private static final String TEST_FILE = "./data/testGeneratedUsers.json";
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(TEST_FILE));
+    }
+
+    @Test
+    public void testSameSeedGivesSameDataset() {
+        DatasetGenerator generator = new DatasetGenerator(7);
+        generator.setPasswordHash("hash");
+        Collection<User> users = generator.users(5, 2);
+        String first = json(users);
+        assertEquals(first, json(users));
+
+        DatasetGenerator again = new DatasetGenerator(7);
+        again.setPasswordHash("hash");
+        assertEquals(first, json(again.users(5, 2)));
+
+        DatasetGenerator other = new DatasetGenerator(8);
+        other.setPasswordHash("hash");
+        assertNotEquals(first, json(other.users(5, 2)));
+    }
+
+    @Test
+    public void testTeamsUseKnownFormationsWithFullLineups() {
+        DatasetGenerator generator = new DatasetGenerator(1);
+        generator.setListedShare(1.0);
+        List<Team> teams = generator.teams(50);
+        assertEquals(50, teams.size());
+        for (Team team : teams) {
+            assertTrue(Formation.getAllFormationTypes().contains(team.getFormation().getFormationType()));
+            assertTrue(team.isStartingLineupComplete());
+            assertTrue(team.isListed());
+            assertTrue(team.getPlayers().size() <= 23);
+            assertTrue(team.getLikes() >= 0);
+        }
+    }
+
+    @Test
+    public void testPopularCardsAreShared() {
+        DatasetGenerator generator = new DatasetGenerator(1);
+        generator.setCardsPerPosition(20);
+        Map<String, Integer> appearances = new HashMap<>();
+        for (Team team : generator.teams(100)) {
+            for (Player player : team.getPlayers()) {
+                appearances.merge(player.getName(), 1, Integer::sum);
+            }
+        }
+        assertTrue(appearances.values().stream().anyMatch(count -> count >= 10));
+    }
+
+    @Test
+    public void testSettings() {
+        DatasetGenerator generator = new DatasetGenerator(3);
+        generator.setListedShare(0.0);
+        generator.setMaxSubstitutes(0);
+        generator.setMeanLikes(0);
+        for (Team team : generator.teams(20)) {
+            assertFalse(team.isListed());
+            assertEquals(11, team.getPlayers().size());
+            assertEquals(0, team.getLikes());
+        }
+    }
+
+    @Test
+    public void testWrittenDatasetLoadsAndLogsIn() throws IOException {
+        DatasetGenerator generator = new DatasetGenerator(5);
+        generator.setPassword("secret");
+        generator.write(TEST_FILE, 20, 3);
+
+        UserManager userManager = new JsonReader(TEST_FILE).read();
+        assertEquals(20, userManager.getAllUsers().size());
+        User user = userManager.getUser("user4");
+        assertEquals(3, user.getTeams().size());
+        assertNotNull(user.getTeamByName("user4 Team 2"));
+        assertSame(user, userManager.login("user4", "secret"));
+    }
+
+    @Test
+    public void testDefaultDatasetIsIdenticalAcrossRuns() throws IOException {
+        new DatasetGenerator(9).write(TEST_FILE, 3, 1);
+        byte[] first = Files.readAllBytes(Paths.get(TEST_FILE));
+        new DatasetGenerator(9).write(TEST_FILE, 3, 1);
+        assertArrayEquals(first, Files.readAllBytes(Paths.get(TEST_FILE)));
+
+        UserManager userManager = new JsonReader(TEST_FILE).read();
+        assertNotNull(userManager.login("user2", "password"));
+    }
+
+    private String json(Collection<User> users) {
+        List<String> result = new ArrayList<>();
+        for (User user : users) {
+            result.add(user.toJson().toString());
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package persistence;
+
+import model.Event;
+import model.EventLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogSinkTest {
+
+    private static final String TEST_FILE = "./data/testEvents.log";
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(TEST_FILE));
+        for (int i = 1; i <= 3; i++) {
+            Files.deleteIfExists(Paths.get(TEST_FILE + "." + i));
+        }
+    }
+
+    @Test
+    public void testEventsWrittenOnClose() throws IOException {
+        EventLogSink sink = new EventLogSink(TEST_FILE, 1024 * 1024, 2);
+        sink.start();
+        EventLog.getInstance().logEvent(new Event("first"));
+        EventLog.getInstance().logEvent(new Event("second\nline"));
+        sink.close();
+        EventLog.getInstance().logEvent(new Event("after close"));
+
+        List<String> lines = Files.readAllLines(Paths.get(TEST_FILE));
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).endsWith("\tfirst"));
+        assertTrue(lines.get(1).endsWith("\tsecond\\nline"));
+        assertEquals(2, sink.getWrittenCount());
+        assertEquals(0, sink.getDroppedCount());
+    }
+
+    @Test
+    public void testAppendsToExistingFile() throws IOException {
+        Files.write(Paths.get(TEST_FILE), "earlier\n".getBytes());
+        EventLogSink sink = new EventLogSink(TEST_FILE, 1024 * 1024, 2);
+        sink.start();
+        EventLog.getInstance().logEvent(new Event("later"));
+        sink.close();
+
+        List<String> lines = Files.readAllLines(Paths.get(TEST_FILE));
+        assertEquals("earlier", lines.get(0));
+        assertTrue(lines.get(1).endsWith("\tlater"));
+    }
+
+    @Test
+    public void testRotatesWhenFileIsFull() throws IOException, InterruptedException {
+        EventLogSink sink = new EventLogSink(TEST_FILE, 200, 2);
+        sink.start();
+        for (int i = 0; i < 30; i++) {
+            EventLog.getInstance().logEvent(new Event("event number " + i));
+            Thread.sleep(5);
+        }
+        sink.close();
+
+        Path file = Paths.get(TEST_FILE);
+        assertTrue(Files.exists(file));
+        assertTrue(Files.exists(Paths.get(TEST_FILE + ".1")));
+        assertTrue(Files.exists(Paths.get(TEST_FILE + ".2")));
+        assertFalse(Files.exists(Paths.get(TEST_FILE + ".3")));
+        assertTrue(Files.size(Paths.get(TEST_FILE + ".1")) <= 200);
+        List<String> lines = Files.readAllLines(file);
+        assertTrue(lines.get(lines.size() - 1).endsWith("\tevent number 29"));
+        assertEquals(30, sink.getWrittenCount());
+    }
+
+    @Test
+    public void testStartingTwiceKeepsOneWriter() throws IOException {
+        EventLogSink sink = new EventLogSink(TEST_FILE, 1024 * 1024, 2);
+        sink.start();
+        sink.start();
+        EventLog.getInstance().logEvent(new Event("once"));
+        sink.close();
+
+        assertEquals(1, Files.readAllLines(Paths.get(TEST_FILE)).size());
+        assertEquals(1, sink.getWrittenCount());
+    }
+
+    @Test
+    public void testInterruptedWriterStopsListeningAndCanRestart() throws IOException, InterruptedException {
+        EventLogSink sink = new EventLogSink(TEST_FILE, 1024 * 1024, 2);
+        sink.start();
+        Thread writer = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("event-log-sink")).findFirst().orElseThrow();
+        writer.interrupt();
+        writer.join();
+        EventLog.getInstance().logEvent(new Event("while stopped"));
+
+        sink.start();
+        EventLog.getInstance().logEvent(new Event("restarted"));
+        sink.close();
+
+        List<String> lines = Files.readAllLines(Paths.get(TEST_FILE));
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).endsWith("\trestarted"));
+        assertEquals(0, sink.getDroppedCount());
+    }
+}
@@ -1,16 +1,23 @@
 
 package persistence;
 
+import model.Event;
+import model.EventLog;
 import model.Player;
 import model.Team;
 import model.User;
 import model.UserManager;
+import org.json.JSONException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -19,11 +26,20 @@ import static org.junit.jupiter.api.Assertions.*;
 public class JsonReaderTest {
 
     private static final String TEST_FILE = "./data/testUsers.json";
+    // Throwaway file for tests that should not rewrite the tracked testUsers.json fixture
+    private static final String SCRATCH_FILE = "./data/testReaderScratch.json";
     private JsonReader reader;
+    private JsonReader scratchReader;
 
     @BeforeEach
     public void setUp() {
         reader = new JsonReader(TEST_FILE);
+        scratchReader = new JsonReader(SCRATCH_FILE);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(SCRATCH_FILE));
     }
 
     @Test
@@ -84,6 +100,70 @@ public class JsonReaderTest {
         }
     }
 
+    @Test
+    public void testReadFieldsInAnyOrder() throws IOException {
+        // Teams before the username and players before the formation type, as JSONObject writes them
+        String jsonContent = "{\"users\": [{\"teams\": [{\"isListed\": false, \"players\": [{"
+                + "\"skillMoves\": 3, \"currentPosition\": \"GK\", \"league\": \"L\", "
+                + "\"clubAffiliation\": \"C\", \"pace\": 50, \"rating\": 80, \"shooting\": 40, "
+                + "\"defending\": 30, \"weakFoot\": 2, \"preferredPosition\": \"GK\", \"dribbling\": 40, "
+                + "\"nationality\": \"N\", \"price\": 500, \"isInStarting11\": true, \"name\": \"Keeper\", "
+                + "\"passing\": 45, \"physicality\": 70}], \"likes\": 2, \"name\": \"Late\", "
+                + "\"formationType\": \"442\"}], \"passwordHash\": \"hash\", \"username\": \"streamer\"},"
+                + " {\"username\": \"second\", \"passwordHash\": \"hash2\", \"teams\": [], \"extra\": [1, {}]}]}";
+        TestUtils.writeStringToFile(SCRATCH_FILE, jsonContent);
+
+        UserManager userManager = scratchReader.read();
+        assertEquals(2, userManager.getAllUsers().size());
+        User user = userManager.getAllUsers().stream()
+                .filter(u -> u.getUsername().equals("streamer")).findFirst().orElseThrow();
+        Team team = user.getTeamByName("Late");
+        assertEquals("442", team.getFormation().getFormationType());
+        assertEquals(2, team.getLikes());
+        assertEquals(1, team.getStartingPlayers().size());
+        assertEquals("Keeper", team.getPlayers().get(0).getName());
+    }
+
+    @Test
+    public void testReadEachHandsOverUsersInFileOrder() throws IOException {
+        TestUtils.writeStringToFile(SCRATCH_FILE, "{\"users\": ["
+                + "{\"username\": \"a\", \"passwordHash\": \"h\", \"teams\": []},"
+                + "{\"username\": \"b\", \"passwordHash\": \"h\", \"teams\": []}]}");
+
+        List<String> names = new ArrayList<>();
+        scratchReader.readEach(user -> names.add(user.getUsername()));
+        assertEquals(List.of("a", "b"), names);
+    }
+
+    @Test
+    public void testReadLogsOneSummaryEvent() throws IOException {
+        TestUtils.writeStringToFile(SCRATCH_FILE, TestUtils.getSampleJsonContent());
+        EventLog.getInstance().clear();
+        UserManager userManager = scratchReader.read();
+        int teams = 0;
+        int players = 0;
+        for (User user : userManager.getAllUsers()) {
+            teams += user.getTeams().size();
+            for (Team team : user.getTeams()) {
+                players += team.getPlayers().size();
+            }
+        }
+
+        List<Event> events = EventLog.getInstance().snapshot();
+        assertEquals(2, events.size());
+        assertTrue(events.get(1).getDescription().startsWith("loaded " + userManager.getAllUsers().size()
+                + " users with " + teams + " teams and " + players + " players from " + SCRATCH_FILE + " in "));
+
+        new Team("After load", "433");
+        assertEquals(3, EventLog.getInstance().snapshot().size());
+    }
+
+    @Test
+    public void testReadMalformedFile() {
+        TestUtils.writeStringToFile(SCRATCH_FILE, "{\"users\": [{\"username\": \"a\",");
+        assertThrows(JSONException.class, () -> scratchReader.read());
+    }
+
     public static class TestUtils {
 
         public static void writeStringToFile(String filePath, String content) {
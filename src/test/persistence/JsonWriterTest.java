@@ -14,6 +14,8 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -161,6 +163,72 @@ public class JsonWriterTest {
         }
     }
 
+    @Test
+    public void testWriteCompactRoundTrips() throws IOException {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            users.add(new User("user" + i, "hash" + i, null));
+        }
+        JsonWriter compactWriter = new JsonWriter(TEST_FILE, false);
+        compactWriter.open();
+        compactWriter.writeAllUsers(users);
+        compactWriter.close();
+
+        String content = new String(Files.readAllBytes(Paths.get(TEST_FILE)));
+        assertFalse(content.contains("\n"));
+        assertTrue(content.startsWith("{\"users\":[{"));
+        assertEquals(3, new JsonReader(TEST_FILE).read().getAllUsers().size());
+    }
+
+    @Test
+    public void testWritePrettyRoundTrips() throws IOException {
+        List<User> users = List.of(new User("a", "h", null), new User("b", "h", null));
+        writer.open();
+        writer.writeAllUsers(users);
+        writer.close();
+
+        String content = new String(Files.readAllBytes(Paths.get(TEST_FILE)));
+        assertTrue(content.contains("\n    {\n        \""));
+        assertEquals(2, new JsonReader(TEST_FILE).read().getAllUsers().size());
+    }
+
+    @Test
+    public void testCloseReplacesFileAndLeavesNoTempFile() throws IOException {
+        Files.write(Paths.get(TEST_FILE), "old".getBytes());
+        writer.open();
+        writer.writeAllUsers(List.of(new User("a", "h", null)));
+        assertEquals("old", new String(Files.readAllBytes(Paths.get(TEST_FILE))));
+
+        writer.close();
+        assertEquals(1, new JsonReader(TEST_FILE).read().getAllUsers().size());
+        assertFalse(TestUtils.hasTempFiles(TEST_FILE));
+    }
+
+    @Test
+    public void testAbortKeepsPreviousFile() throws IOException {
+        Files.write(Paths.get(TEST_FILE), "{\"users\":[]}".getBytes());
+        writer.open();
+        writer.writeAllUsers(List.of(new User("a", "h", null)));
+        writer.abort();
+
+        assertEquals("{\"users\":[]}", new String(Files.readAllBytes(Paths.get(TEST_FILE))));
+        assertFalse(TestUtils.hasTempFiles(TEST_FILE));
+    }
+
+    @Test
+    public void testConcurrentWritersUseSeparateTempFiles() throws IOException {
+        JsonWriter other = new JsonWriter(TEST_FILE, false);
+        writer.open();
+        other.open();
+        writer.writeAllUsers(List.of(new User("a", "h", null), new User("b", "h", null)));
+        other.writeAllUsers(List.of(new User("c", "h", null)));
+        other.close();
+        writer.close();
+
+        assertEquals(2, new JsonReader(TEST_FILE).read().getAllUsers().size());
+        assertFalse(TestUtils.hasTempFiles(TEST_FILE));
+    }
+
     // Helper method to map player numbers to positions for the "433" formation
     private String getPositionForNumber(int number) {
         String[] positions = {"GK", "LB", "LCB", "RCB", "RB", "LCM", "CM", "RCM", "LW", "RW", "ST"};
@@ -0,0 +1,113 @@
+package persistence;
+
+import model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerCatalogTest {
+
+    private static final String TEST_FILE = "./data/testCatalog.bin";
+    private static final String[] CLUBS = {"Arsenal", "Barcelona", "Bayern"};
+    private List<Player> players;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        players = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            players.add(new Player("Card " + i, "Nation " + (i % 7), "League " + (i % 3), CLUBS[i % 3],
+                    i % 2 == 0 ? "ST" : "CB", "GK", 50 + i % 50, 60, 61, 62, 63, 64, 65, 1 + i % 5, 1 + i % 5,
+                    i * 1000, true));
+        }
+        PlayerCatalog.write(TEST_FILE, players);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(TEST_FILE));
+    }
+
+    @Test
+    public void testFixedWidthLayout() throws IOException {
+        long nameBytes = 0;
+        for (Player player : players) {
+            nameBytes += player.getName().length();
+        }
+        long size = Files.size(Paths.get(TEST_FILE));
+        assertTrue(size >= PlayerCatalog.HEADER_SIZE + 100L * PlayerCatalog.RECORD_SIZE + nameBytes);
+        assertTrue(size < PlayerCatalog.HEADER_SIZE + 100L * PlayerCatalog.RECORD_SIZE + nameBytes + 200);
+    }
+
+    @Test
+    public void testGetPlayerMaterializesCard() throws IOException {
+        try (PlayerCatalog catalog = PlayerCatalog.open(TEST_FILE)) {
+            assertEquals(100, catalog.size());
+            Player card = catalog.getPlayer(37);
+            assertEquals("Card 37", card.getName());
+            assertEquals("Nation 2", card.getNationality());
+            assertEquals("League 1", card.getLeague());
+            assertEquals("Barcelona", card.getClubAffiliation());
+            assertEquals("CB", card.getPreferredPosition());
+            assertEquals("CB", card.getCurrentPosition());
+            assertEquals(87, card.getRating());
+            assertEquals(60, card.getPace());
+            assertEquals(65, card.getPhysicality());
+            assertEquals(3, card.getSkillMoves());
+            assertEquals(37000, card.getPrice());
+            assertFalse(card.isInStarting11());
+        }
+    }
+
+    @Test
+    public void testFieldAccessors() throws IOException {
+        try (PlayerCatalog catalog = PlayerCatalog.open(TEST_FILE)) {
+            assertEquals("Card 99", catalog.getName(99));
+            assertEquals(99, catalog.getRating(49));
+            assertEquals(5000, catalog.getPrice(5));
+            assertEquals("Bayern", catalog.getClub(2));
+            assertThrows(IndexOutOfBoundsException.class, () -> catalog.getPlayer(100));
+            assertThrows(IndexOutOfBoundsException.class, () -> catalog.getRating(-1));
+        }
+    }
+
+    @Test
+    public void testQueries() throws IOException {
+        try (PlayerCatalog catalog = PlayerCatalog.open(TEST_FILE)) {
+            assertArrayEquals(new int[]{45, 46, 47, 48, 49}, catalog.findByPriceAndRating(50000, 95));
+            int[] arsenal = catalog.findByClub("Arsenal");
+            assertEquals(34, arsenal.length);
+            assertEquals(99, arsenal[33]);
+            assertEquals(0, catalog.findByClub("Chelsea").length);
+        }
+    }
+
+    @Test
+    public void testEmptyCatalog() throws IOException {
+        PlayerCatalog.write(TEST_FILE, new ArrayList<>());
+        try (PlayerCatalog catalog = PlayerCatalog.open(TEST_FILE)) {
+            assertEquals(0, catalog.size());
+            assertEquals(0, catalog.findByPriceAndRating(Integer.MAX_VALUE, 0).length);
+        }
+    }
+
+    @Test
+    public void testRejectsValuesThatDoNotFit() {
+        List<Player> bad = List.of(new Player("Big", "", "", "", "ST", "ST", 300, 1, 1, 1, 1, 1, 1, 1, 1, 1, false));
+        assertThrows(IllegalArgumentException.class, () -> PlayerCatalog.write(TEST_FILE, bad));
+    }
+
+    @Test
+    public void testRejectsOtherFiles() throws IOException {
+        TestUtils.writeStringToFile(TEST_FILE, "{ \"users\": [] } and some padding to fill a header");
+        assertThrows(IOException.class, () -> PlayerCatalog.open(TEST_FILE));
+        assertThrows(IOException.class, () -> PlayerCatalog.open("./data/noSuchCatalog.bin"));
+    }
+}
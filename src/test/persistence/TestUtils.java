@@ -4,6 +4,10 @@ package persistence;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
 
 
 
@@ -20,6 +24,16 @@ public class TestUtils {
         }
     }
 
+    // EFFECTS: Returns true if a temporary file written on the way to replacing filePath is still there
+    public static boolean hasTempFiles(String filePath) throws IOException {
+        Path target = Paths.get(filePath).toAbsolutePath();
+        String prefix = target.getFileName() + ".";
+        try (Stream<Path> siblings = Files.list(target.getParent())) {
+            return siblings.map(path -> path.getFileName().toString())
+                    .anyMatch(name -> name.startsWith(prefix) && name.endsWith(".tmp"));
+        }
+    }
+
    
     public static String getSampleJsonContent() {
         // Return a sample JSON string representing users, teams, and players
@@ -0,0 +1,149 @@
+package persistence;
+
+import model.Player;
+import model.Team;
+import model.User;
+import model.UserManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserJournalTest {
+
+    private static final String TEST_FILE = "./data/testUsers.journal";
+    private UserJournal journal;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        Files.deleteIfExists(Paths.get(TEST_FILE));
+        journal = new UserJournal(TEST_FILE);
+        journal.open();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        journal.close();
+        Files.deleteIfExists(Paths.get(TEST_FILE));
+    }
+
+    @Test
+    public void testReplayRebuildsUsersAndTeams() throws IOException {
+        writeSampleJournal();
+        assertEquals(5, journal.getRecordCount());
+
+        UserManager userManager = new UserManager();
+        assertEquals(5, new UserJournal(TEST_FILE).replay(userManager));
+
+        User user = userManager.getUser("alice");
+        assertEquals("hash", user.getPasswordHash());
+        Team team = user.getTeamByName("Alice XI");
+        assertEquals("433", team.getFormation().getFormationType());
+        assertEquals(1, team.getPlayers().size());
+        assertTrue(team.getPlayers().get(0).isInStarting11());
+        assertTrue(team.isListed());
+        assertEquals(3, team.getLikes());
+    }
+
+    @Test
+    public void testReplayIsIdempotent() throws IOException {
+        writeSampleJournal();
+        UserManager userManager = new UserManager();
+        UserJournal reader = new UserJournal(TEST_FILE);
+        reader.replay(userManager);
+        reader.replay(userManager);
+
+        assertEquals(1, userManager.getAllUsers().size());
+        Team team = userManager.getUser("alice").getTeamByName("Alice XI");
+        assertEquals(1, team.getPlayers().size());
+        assertEquals(3, team.getLikes());
+        assertEquals(1, userManager.getUser("alice").getTeams().size());
+    }
+
+    @Test
+    public void testReplayIgnoresTornLastRecord() throws IOException {
+        writeSampleJournal();
+        Files.write(Paths.get(TEST_FILE), "{\"op\":\"likes\",\"userna".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        UserManager userManager = new UserManager();
+        assertEquals(5, new UserJournal(TEST_FILE).replay(userManager));
+        assertEquals(3, userManager.getUser("alice").getTeamByName("Alice XI").getLikes());
+    }
+
+    @Test
+    public void testAppendAfterTornLastRecordIsNotLost() throws IOException {
+        writeSampleJournal();
+        journal.close();
+        Files.write(Paths.get(TEST_FILE), "{\"op\":\"likes\",\"userna".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        UserManager userManager = new UserManager();
+        journal = new UserJournal(TEST_FILE);
+        assertEquals(5, journal.replay(userManager));
+        journal.open();
+        User alice = userManager.getUser("alice");
+        Team team = alice.getTeamByName("Alice XI");
+        team.setLikes(7);
+        journal.appendLikes(alice, team);
+
+        UserManager replayed = new UserManager();
+        assertEquals(6, new UserJournal(TEST_FILE).replay(replayed));
+        assertEquals(7, replayed.getUser("alice").getTeamByName("Alice XI").getLikes());
+    }
+
+    @Test
+    public void testOpenDiscardsJournalThatIsOnlyATornRecord() throws IOException {
+        journal.close();
+        Files.write(Paths.get(TEST_FILE), "{\"op\":\"sig".getBytes(StandardCharsets.UTF_8));
+        journal = new UserJournal(TEST_FILE);
+        journal.open();
+        assertEquals(0, Files.size(Paths.get(TEST_FILE)));
+    }
+
+    @Test
+    public void testReplaySkipsRecordsForUnknownOwners() throws IOException {
+        User ghost = new User("ghost", "hash", null);
+        journal.appendTeamCreated(ghost, new Team("Ghost XI", "433"));
+
+        UserManager userManager = new UserManager();
+        assertEquals(1, new UserJournal(TEST_FILE).replay(userManager));
+        assertNull(userManager.getUser("ghost"));
+    }
+
+    @Test
+    public void testReplayMissingFile() throws IOException {
+        assertEquals(0, new UserJournal("./data/noSuchFile.journal").replay(new UserManager()));
+    }
+
+    @Test
+    public void testTruncate() throws IOException {
+        writeSampleJournal();
+        journal.truncate();
+
+        assertEquals(0, journal.getRecordCount());
+        assertEquals(0, Files.size(Paths.get(TEST_FILE)));
+        assertEquals(0, new UserJournal(TEST_FILE).replay(new UserManager()));
+    }
+
+    private void writeSampleJournal() throws IOException {
+        User user = new User("alice", "hash", null);
+        Team team = new Team("Alice XI", "433");
+        Player keeper = new Player("Keeper", "Brazil", "Serie A", "Roma", "GK", "GK",
+                85, 50, 50, 50, 50, 50, 80, 1, 3, 1000, true);
+        team.addPlayer(keeper);
+        team.setLikes(3);
+        journal.appendSignUp(user);
+        journal.appendTeamCreated(user, team);
+        journal.appendPlayerAdded(user, team, keeper);
+        journal.appendTeamListed(user, team);
+        journal.appendLikes(user, team);
+    }
+}